@@ -0,0 +1,52 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkData {
+    public static final LocalDateTime CURRENT = LocalDateTime.of(2024, 1, 1, 12, 0);
+    public static final int COMMENTS_PER_ITEM = 3;
+    private static final User OWNER = new User(1L, "John", "john@ya.ru");
+    private static final User BOOKER = new User(2L, "Amy", "amy@ya.ru");
+
+    private BenchmarkData() {
+    }
+
+    public static List<Item> items(int size) {
+        List<Item> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(new Item(id, "Rotor hammer " + id, "rotary hammer for concrete, model " + id, true, OWNER,
+                    null));
+        }
+        return items;
+    }
+
+    public static List<Booking> bookings(List<Item> items, long shiftDays) {
+        List<Booking> bookings = new ArrayList<>(items.size());
+        long id = shiftDays < 0 ? 1 : items.size() + 1;
+        for (Item item : items) {
+            LocalDateTime start = CURRENT.plusDays(shiftDays);
+            bookings.add(new Booking(id++, start, start.plusDays(1), item, BOOKER, BookingStatus.APPROVED,
+                    OWNER.getId()));
+        }
+        return bookings;
+    }
+
+    public static List<Comment> comments(List<Item> items) {
+        List<Comment> comments = new ArrayList<>(items.size() * COMMENTS_PER_ITEM);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(new Comment(id++, "works fine, comment " + i, CURRENT.minusDays(i), item, BOOKER));
+            }
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserMapperImpl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDtoInfo> items;
+    private Collection<BookingDto> bookings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ItemMapper itemMapper = new ItemMapperImpl();
+        BookingMapper bookingMapper = new BookingMapperImpl(itemMapper, new UserMapperImpl());
+        List<Item> models = BenchmarkData.items(size);
+        List<Booking> next = BenchmarkData.bookings(models, 1);
+        List<Booking> last = BenchmarkData.bookings(models, -1);
+        items = models.stream()
+                .map(item -> itemMapper.toOneItemDtoInfoForOwner(item,
+                        bookingMapper.toBookingDtoInfo(next.get(item.getId().intValue() - 1)),
+                        bookingMapper.toBookingDtoInfo(last.get(item.getId().intValue() - 1)), List.of()))
+                .collect(Collectors.toList());
+        bookings = bookingMapper.toBookingDto(next);
+    }
+
+    @Benchmark
+    public byte[] writeItemDtoInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] writeBookingDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
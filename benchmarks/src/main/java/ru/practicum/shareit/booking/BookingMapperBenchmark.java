@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.user.UserMapperImpl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingMapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private BookingMapper bookingMapper;
+    private List<Booking> bookings;
+    private List<BookingDtoInfo> bookingsInfo;
+
+    @Setup
+    public void setUp() {
+        bookingMapper = new BookingMapperImpl(new ItemMapperImpl(), new UserMapperImpl());
+        bookings = BenchmarkData.bookings(BenchmarkData.items(size), 1);
+        bookingsInfo = bookingMapper.toBookingDtoInfo(bookings);
+    }
+
+    @Benchmark
+    public Collection<BookingDto> toBookingDto() {
+        return bookingMapper.toBookingDto(bookings);
+    }
+
+    @Benchmark
+    public List<BookingDtoInfo> toBookingDtoInfo() {
+        return bookingMapper.toBookingDtoInfo(bookings);
+    }
+
+    @Benchmark
+    public Map<Long, BookingDtoInfo> toBookingDtoInfoMap() {
+        return bookingMapper.toBookingDtoInfoMap(bookingsInfo);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserMapperImpl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemAssemblyBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ItemService itemService;
+    private List<Item> items;
+    private List<Booking> next;
+    private List<Booking> last;
+    private List<Comment> comments;
+    private Map<Long, List<CommentDto>> commentsItem;
+
+    @Setup
+    public void setUp() {
+        ItemMapperImpl itemMapper = new ItemMapperImpl();
+        itemService = new ItemService(null, null, null, null, null, null, itemMapper,
+                new BookingMapperImpl(itemMapper, new UserMapperImpl()), new CommentMapperImpl(), null, null, null);
+        items = BenchmarkData.items(size);
+        next = BenchmarkData.bookings(items, 1);
+        last = BenchmarkData.bookings(items, -1);
+        comments = BenchmarkData.comments(items);
+        commentsItem = itemService.getCommentDtoSortByIdItem(comments);
+    }
+
+    @Benchmark
+    public Map<Long, List<CommentDto>> groupCommentsByItem() {
+        return itemService.getCommentDtoSortByIdItem(comments);
+    }
+
+    @Benchmark
+    public Collection<ItemDtoInfo> assembleOwnerItems() {
+        return itemService.getItemDtoInfoForOwner(items, next, last, commentsItem);
+    }
+}
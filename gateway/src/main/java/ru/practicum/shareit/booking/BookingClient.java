@@ -1,15 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItTransportFactory;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,35 +19,58 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ShareItTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createBooking(BookingDtoCreate bookingDtoCreate, Long userId) {
+    public Mono<ResponseEntity<Object>> createBooking(BookingDtoCreate bookingDtoCreate, Long userId) {
         return post("", userId, bookingDtoCreate);
     }
 
-    public ResponseEntity<Object> updateBooking(Long bookingId, Long userId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(Long bookingId, Long userId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOneBookingUser(Long bookingId, Long userId) {
+    public Mono<ResponseEntity<Object>> updateBookings(List<BookingDecisionDto> decisions, Long userId) {
+        return patch("", userId, decisions);
+    }
+
+    public Mono<ResponseEntity<Object>> getOneBookingUser(Long bookingId, Long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingsBooker(Long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllBookingsBooker(Long userId, BookingState state, Integer from,
+                                                             Integer size) {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingsOwner(Long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllBookingsBookerByCursor(Long userId, BookingState state, String cursor,
+                                                                     Integer size) {
+        Map<String, Object> parameters = Map.of("state", state.name(), CURSOR, cursor, "size", size);
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllBookingsOwner(Long userId, BookingState state, Integer from,
+                                                            Integer size) {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> getAllBookingsOwnerByCursor(Long userId, BookingState state, String cursor,
+                                                                    Integer size) {
+        Map<String, Object> parameters = Map.of("state", state.name(), CURSOR, cursor, "size", size);
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<Void> exportBookingsBooker(Long userId, BookingState state, ServerHttpResponse target) {
+        Map<String, Object> parameters = Map.of("state", state.name());
+        return stream("/export?state={state}", userId, parameters, MediaType.APPLICATION_NDJSON, target);
+    }
+
+    public Mono<Void> exportBookingsOwner(Long userId, BookingState state, ServerHttpResponse target) {
+        Map<String, Object> parameters = Map.of("state", state.name());
+        return stream("/owner/export?state={state}", userId, parameters, MediaType.APPLICATION_NDJSON, target);
+    }
 }
@@ -3,15 +3,23 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.dto.validator.ValidState;
+import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -22,47 +30,91 @@ public class BookingController {
     private static final String STATE_DEFAULT = "ALL";
     private static final String PAGE_FROM_DEFAULT = "0";
     private static final String PAGE_SIZE_DEFAULT = "10";
+    private static final int BULK_SIZE_MAX = 100;
     private final BookingClient bookingClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createBooking(@Valid @RequestBody BookingDtoCreate bookingDtoCreate,
-                                                @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> createBooking(@Valid @RequestBody BookingDtoCreate bookingDtoCreate,
+                                                      @RequestHeader(USER_ID) Long userId) {
         return bookingClient.createBooking(bookingDtoCreate, userId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader(USER_ID) Long userId,
-                                                @PathVariable @Positive @NotNull Long bookingId,
-                                                @RequestParam @NotNull Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(@RequestHeader(USER_ID) Long userId,
+                                                      @PathVariable @Positive @NotNull Long bookingId,
+                                                      @RequestParam @NotNull Boolean approved) {
         return bookingClient.updateBooking(bookingId, userId, approved);
     }
 
+    @PatchMapping
+    public Mono<ResponseEntity<Object>> updateBookings(@RequestHeader(USER_ID) Long userId,
+                                                       @RequestBody @NotEmpty @Size(max = BULK_SIZE_MAX)
+                                                       List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.updateBookings(decisions, userId);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getOneBookingUser(@PathVariable @Positive @NotNull Long bookingId,
-                                                    @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getOneBookingUser(@PathVariable @Positive @NotNull Long bookingId,
+                                                          @RequestHeader(USER_ID) Long userId) {
         return bookingClient.getOneBookingUser(bookingId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsBooker(@RequestHeader(USER_ID) Long userId,
-                                                       @RequestParam(defaultValue = STATE_DEFAULT)
-                                                       @ValidState String state,
-                                                       @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
-                                                       @Min(0) Integer from,
-                                                       @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
-                                                       @Min(1) Integer size) {
+    public Mono<ResponseEntity<Object>> getAllBookingsBooker(@RequestHeader(USER_ID) Long userId,
+                                                             @RequestParam(defaultValue = STATE_DEFAULT)
+                                                             @ValidState String state,
+                                                             @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
+                                                             @Min(0) Integer from,
+                                                             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                             @Min(1) Integer size) {
         return bookingClient.getAllBookingsBooker(userId, BookingState.valueOf(state), from, size);
     }
 
+    @GetMapping(params = BaseClient.CURSOR)
+    public Mono<ResponseEntity<Object>> getAllBookingsBookerByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                     @RequestParam(defaultValue = STATE_DEFAULT)
+                                                                     @ValidState String state,
+                                                                     @RequestParam String cursor,
+                                                                     @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                                     @Min(1) Integer size) {
+        return bookingClient.getAllBookingsBookerByCursor(userId, BookingState.valueOf(state), cursor, size);
+    }
+
+    @GetMapping("/export")
+    public Mono<Void> exportBookingsBooker(@RequestHeader(USER_ID) Long userId,
+                                           @RequestParam(defaultValue = STATE_DEFAULT) @ValidState String state,
+                                           HttpServletResponse response) {
+        return bookingClient.exportBookingsBooker(userId, BookingState.valueOf(state),
+                new ServletServerHttpResponse(response));
+    }
+
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsOwner(@RequestHeader(USER_ID) Long userId,
-                                                      @RequestParam(defaultValue = STATE_DEFAULT)
-                                                      @ValidState String state,
-                                                      @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
-                                                      @Min(0) Integer from,
-                                                      @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
-                                                      @Min(1) Integer size) {
+    public Mono<ResponseEntity<Object>> getAllBookingsOwner(@RequestHeader(USER_ID) Long userId,
+                                                            @RequestParam(defaultValue = STATE_DEFAULT)
+                                                            @ValidState String state,
+                                                            @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
+                                                            @Min(0) Integer from,
+                                                            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                            @Min(1) Integer size) {
         return bookingClient.getAllBookingsOwner(userId, BookingState.valueOf(state), from, size);
     }
+
+    @GetMapping(value = "/owner", params = BaseClient.CURSOR)
+    public Mono<ResponseEntity<Object>> getAllBookingsOwnerByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                    @RequestParam(defaultValue = STATE_DEFAULT)
+                                                                    @ValidState String state,
+                                                                    @RequestParam String cursor,
+                                                                    @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                                    @Min(1) Integer size) {
+        return bookingClient.getAllBookingsOwnerByCursor(userId, BookingState.valueOf(state), cursor, size);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<Void> exportBookingsOwner(@RequestHeader(USER_ID) Long userId,
+                                          @RequestParam(defaultValue = STATE_DEFAULT) @ValidState String state,
+                                          HttpServletResponse response) {
+        return bookingClient.exportBookingsOwner(userId, BookingState.valueOf(state),
+                new ServletServerHttpResponse(response));
+    }
 }
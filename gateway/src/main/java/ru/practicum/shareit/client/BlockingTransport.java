@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Map;
+
+public class BlockingTransport implements ShareItTransport {
+    private final RestTemplate rest;
+    private final boolean passthrough;
+
+    public BlockingTransport(RestTemplate rest, boolean passthrough) {
+        this.rest = rest;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                 String path,
+                                                 HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, new HttpEntity<>(body, headers), parameters))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> relay(String path,
+                            HttpHeaders headers,
+                            @Nullable Map<String, Object> parameters,
+                            ServerHttpResponse target) {
+        return Mono.fromRunnable(() -> {
+            try {
+                rest.execute(path, HttpMethod.GET, request -> request.getHeaders().addAll(headers), response -> {
+                    BaseClient.relayResponse(response.getStatusCode(), response.getHeaders(), response.getBody(),
+                            target);
+                    return null;
+                }, parameters != null ? parameters : Map.of());
+            } catch (HttpStatusCodeException e) {
+                try {
+                    BaseClient.relayResponse(e.getStatusCode(), e.getResponseHeaders(),
+                            new ByteArrayInputStream(e.getResponseBodyAsByteArray()), target);
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }
+        }).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method,
+                                        String path,
+                                        HttpEntity<Object> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        if (passthrough) {
+            return stream(method, path, requestEntity, parameters);
+        }
+        try {
+            if (parameters != null) {
+                return rest.exchange(path, method, requestEntity, Object.class, parameters);
+            }
+            return rest.exchange(path, method, requestEntity, Object.class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private ResponseEntity<Object> stream(HttpMethod method,
+                                          String path,
+                                          HttpEntity<Object> requestEntity,
+                                          @Nullable Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            response = request.execute();
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getRawStatusCode())
+                    .headers(response.getHeaders());
+            if (response.getHeaders().getContentLength() == 0
+                    || response.getRawStatusCode() == HttpStatus.NO_CONTENT.value()) {
+                response.close();
+                return builder.build();
+            }
+            return builder.body(new InputStreamResource(new ResponseBodyStream(response)));
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private static class ResponseBodyStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseBodyStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                response.close();
+            }
+        }
+    }
+}
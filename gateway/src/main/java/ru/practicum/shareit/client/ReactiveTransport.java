@@ -0,0 +1,144 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+@Slf4j
+public class ReactiveTransport implements ShareItTransport {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private final WebClient webClient;
+    private final boolean passthrough;
+
+    public ReactiveTransport(WebClient webClient, boolean passthrough) {
+        this.webClient = webClient;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                 String path,
+                                                 HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec;
+        if (body instanceof Resource) {
+            spec = request.body(DataBufferUtils.read((Resource) body, DefaultDataBufferFactory.sharedInstance,
+                    STREAM_BUFFER_SIZE).subscribeOn(Schedulers.boundedElastic()), DataBuffer.class);
+        } else {
+            spec = body != null ? request.bodyValue(body) : request;
+        }
+        if (passthrough) {
+            return spec.retrieve()
+                    .onStatus(status -> true, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .map(this::toStreamingResponse);
+        }
+        return spec.exchangeToMono(this::toGatewayResponse);
+    }
+
+    @Override
+    public Mono<Void> relay(String path,
+                            HttpHeaders headers,
+                            @Nullable Map<String, Object> parameters,
+                            ServerHttpResponse target) {
+        return webClient.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .exchangeToMono(response -> {
+                    target.setStatusCode(response.statusCode());
+                    target.getHeaders().addAll(BaseClient.relayedHeaders(response.headers().asHttpHeaders()));
+                    return Mono.fromCallable(target::getBody)
+                            .flatMap(out -> DataBufferUtils.write(response.bodyToFlux(DataBuffer.class)
+                                            .publishOn(Schedulers.boundedElastic()), out)
+                                    .map(DataBufferUtils::release)
+                                    .then())
+                            .then(Mono.fromRunnable(() -> flush(target)));
+                });
+    }
+
+    private void flush(ServerHttpResponse target) {
+        try {
+            target.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Mono<ResponseEntity<Object>> toGatewayResponse(ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class);
+        }
+        return response.toEntity(byte[].class)
+                .map(entity -> new ResponseEntity<>(entity.getBody(), entity.getHeaders(), entity.getStatusCode()));
+    }
+
+    private ResponseEntity<Object> toStreamingResponse(ResponseEntity<Flux<DataBuffer>> entity) {
+        PipedInputStream body = new PipedInputStream(STREAM_BUFFER_SIZE);
+        PipedOutputStream out;
+        try {
+            out = new PipedOutputStream(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Disposable relay = DataBufferUtils.write(entity.getBody().publishOn(Schedulers.boundedElastic()), out)
+                .map(DataBufferUtils::release)
+                .doFinally(signal -> close(out))
+                .subscribe(released -> {
+                }, error -> log.warn("Relaying the server response failed: {}", error.getMessage()));
+        return new ResponseEntity<>(new InputStreamResource(new RelayedBodyStream(body, relay)),
+                entity.getHeaders(), entity.getStatusCode());
+    }
+
+    private void close(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Closing the relayed response stream failed: {}", e.getMessage());
+        }
+    }
+
+    private static class RelayedBodyStream extends FilterInputStream {
+        private final Disposable relay;
+
+        RelayedBodyStream(InputStream body, Disposable relay) {
+            super(body);
+            this.relay = relay;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                relay.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface ShareItTransport {
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method,
+                                          String path,
+                                          HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters,
+                                          @Nullable Object body);
+
+    Mono<Void> relay(String path,
+                     HttpHeaders headers,
+                     @Nullable Map<String, Object> parameters,
+                     ServerHttpResponse target);
+}
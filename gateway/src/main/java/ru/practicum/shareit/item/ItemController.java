@@ -1,10 +1,15 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validated.Create;
@@ -14,6 +19,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/items")
@@ -26,43 +33,74 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable @Positive @NotNull Long itemId,
-                                              @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable @Positive @NotNull Long itemId,
+                                                    @RequestHeader(USER_ID) Long userId) {
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemUser(@RequestHeader(USER_ID) Long userId,
-                                                 @RequestParam(defaultValue = PAGE_FROM) @Min(0) Integer from,
-                                                 @RequestParam(defaultValue = PAGE_SIZE) @Min(1) Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemUser(@RequestHeader(USER_ID) Long userId,
+                                                       @RequestParam(defaultValue = PAGE_FROM) @Min(0) Integer from,
+                                                       @RequestParam(defaultValue = PAGE_SIZE) @Min(1) Integer size) {
         return itemClient.getAllItemUser(userId, from, size);
     }
 
+    @GetMapping(params = BaseClient.CURSOR)
+    public Mono<ResponseEntity<Object>> getAllItemUserByCursor(@RequestHeader(USER_ID) Long userId,
+                                                               @RequestParam String cursor,
+                                                               @RequestParam(defaultValue = PAGE_SIZE)
+                                                               @Min(1) Integer size) {
+        return itemClient.getAllItemUserByCursor(userId, cursor, size);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItem(@Validated(Create.class) @RequestBody ItemDto itemDto,
-                                             @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@Validated(Create.class) @RequestBody ItemDto itemDto,
+                                                   @RequestHeader(USER_ID) Long userId) {
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(InputStream body,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestHeader(USER_ID) Long userId) {
+        return itemClient.importItems(body, contentType, userId);
+    }
+
+    @GetMapping("/import")
+    public Mono<ResponseEntity<Object>> getImportProgress(@RequestHeader(USER_ID) Long userId) {
+        return itemClient.getImportProgress(userId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@Validated(Update.class) @RequestBody ItemDto itemDto,
-                                             @PathVariable @Positive @NotNull Long itemId,
-                                             @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@Validated(Update.class) @RequestBody ItemDto itemDto,
+                                                   @PathVariable @Positive @NotNull Long itemId,
+                                                   @RequestHeader(USER_ID) Long userId) {
         return itemClient.updateItem(itemDto, itemId, userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
-                                              @RequestParam(defaultValue = PAGE_FROM) @Min(0) Integer from,
-                                              @RequestParam(defaultValue = PAGE_SIZE) @Min(1) Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
+                                                    @RequestParam(defaultValue = PAGE_FROM) @Min(0) Integer from,
+                                                    @RequestParam(defaultValue = PAGE_SIZE) @Min(1) Integer size) {
         return itemClient.searchItems(text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable @Positive @NotNull Long itemId,
+                                                        @RequestParam
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto commentDto,
-                                                @RequestHeader(USER_ID) Long userId,
-                                                @PathVariable @Positive @NotNull Long itemId) {
+    public Mono<ResponseEntity<Object>> createComment(@Valid @RequestBody CommentDto commentDto,
+                                                      @RequestHeader(USER_ID) Long userId,
+                                                      @PathVariable @Positive @NotNull Long itemId) {
         return itemClient.createComment(commentDto, userId, itemId);
     }
 }
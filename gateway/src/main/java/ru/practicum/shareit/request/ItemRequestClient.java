@@ -1,13 +1,11 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,29 +15,29 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ShareItTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long requestId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getListOfRequestsForItemsUser(Long userId) {
+    public Mono<ResponseEntity<Object>> getListOfRequestsForItemsUser(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequestsPageByPage(Integer from, Integer size, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsPageByPage(Integer from, Integer size, Long userId) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> getItemRequestsByCursor(String cursor, Integer size, Long userId) {
+        Map<String, Object> parameters = Map.of(CURSOR, cursor, "size", size);
+        return get("/all?cursor={cursor}&size={size}", userId, parameters);
+    }
 }
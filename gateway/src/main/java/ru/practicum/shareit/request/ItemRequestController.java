@@ -5,6 +5,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -23,28 +25,36 @@ public class ItemRequestController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                                    @RequestHeader(USER_ID) @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                                                          @RequestHeader(USER_ID) @Positive Long userId) {
         return itemRequestClient.createItemRequest(itemRequestDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getListOfRequestsForItemsUser(@RequestHeader(USER_ID) @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> getListOfRequestsForItemsUser(@RequestHeader(USER_ID) @Positive Long userId) {
         return itemRequestClient.getListOfRequestsForItemsUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequestsPageByPage(@RequestParam(defaultValue = PAGE_FROM)
-                                                            @Min(0) Integer from,
-                                                            @RequestParam(defaultValue = PAGE_SIZE)
-                                                            @Min(1) Integer size,
-                                                            @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsPageByPage(@RequestParam(defaultValue = PAGE_FROM)
+                                                                  @Min(0) Integer from,
+                                                                  @RequestParam(defaultValue = PAGE_SIZE)
+                                                                  @Min(1) Integer size,
+                                                                  @RequestHeader(USER_ID) Long userId) {
         return itemRequestClient.getItemRequestsPageByPage(from, size, userId);
     }
 
+    @GetMapping(value = "/all", params = BaseClient.CURSOR)
+    public Mono<ResponseEntity<Object>> getItemRequestsByCursor(@RequestParam String cursor,
+                                                                @RequestParam(defaultValue = PAGE_SIZE)
+                                                                @Min(1) Integer size,
+                                                                @RequestHeader(USER_ID) Long userId) {
+        return itemRequestClient.getItemRequestsByCursor(cursor, size, userId);
+    }
+
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@PathVariable @Positive Long requestId,
-                                                     @RequestHeader(USER_ID) @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(@PathVariable @Positive Long requestId,
+                                                           @RequestHeader(USER_ID) @Positive Long userId) {
         return itemRequestClient.getItemRequestById(requestId, userId);
     }
 }
@@ -5,6 +5,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validated.Create;
 import ru.practicum.shareit.validated.Update;
@@ -23,30 +25,37 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable @Positive @NotNull Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable @Positive @NotNull Long userId) {
         return userClient.getUserById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUser(@RequestParam(defaultValue = PAGE_FROM) @Min(0) Integer from,
-                                             @RequestParam(defaultValue = PAGE_SIZE) @Min(1) Integer size) {
+    public Mono<ResponseEntity<Object>> getAllUser(@RequestParam(defaultValue = PAGE_FROM) @Min(0) Integer from,
+                                                   @RequestParam(defaultValue = PAGE_SIZE) @Min(1) Integer size) {
         return userClient.getAllUser(from, size);
     }
 
+    @GetMapping(params = BaseClient.CURSOR)
+    public Mono<ResponseEntity<Object>> getAllUserByCursor(@RequestParam String cursor,
+                                                           @RequestParam(defaultValue = PAGE_SIZE)
+                                                           @Min(1) Integer size) {
+        return userClient.getAllUserByCursor(cursor, size);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@Validated(Create.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@Validated(Create.class) @RequestBody UserDto userDto) {
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable @Positive @NotNull Long userId,
-                                             @Validated(Update.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable @Positive @NotNull Long userId,
+                                                   @Validated(Update.class) @RequestBody UserDto userDto) {
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable @Positive @NotNull Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUserById(@PathVariable @Positive @NotNull Long userId) {
         return userClient.deleteUserById(userId);
     }
 }
@@ -9,13 +9,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -127,6 +130,23 @@ public class BookingValidationTest {
                 .andExpect(status().is(400));
     }
 
+    @DisplayName("Shouldn't update bookings in bulk when decisions are empty or incomplete")
+    @Test
+    @SneakyThrows
+    public void shouldNotUpdateBookingsIfDecisionsInvalid() {
+        mvc.perform(patch("/bookings")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1L))
+                .andExpect(status().is(400));
+
+        mvc.perform(patch("/bookings")
+                        .content(mapper.writeValueAsString(List.of(new BookingDecisionDto(1L, null))))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1L))
+                .andExpect(status().is(400));
+    }
+
     @DisplayName("Should get exception booker when unknown state")
     @Test
     @SneakyThrows
@@ -144,4 +164,13 @@ public class BookingValidationTest {
                         .header(USER_ID, 1L))
                 .andExpect(status().is(400));
     }
+
+    @DisplayName("Should get exception on export when unknown state")
+    @Test
+    @SneakyThrows
+    public void shouldReturnExceptionExportForUnknownState() {
+        mvc.perform(get("/bookings/owner/export?state=ERROR")
+                        .header(USER_ID, 1L))
+                .andExpect(status().is(400));
+    }
 }
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BlockingTransportTest {
+    private static final String USERS = "[{\"id\":1,\"name\":\"user\",\"email\":\"user@ya.ru\"}]";
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    public void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/users"));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @DisplayName("Should relay server body bytes and end-to-end headers in passthrough mode")
+    @Test
+    public void shouldRelayBytesInPassthroughMode() throws IOException {
+        UserClient userClient = new UserClient(apiPrefix -> new BlockingTransport(rest, true));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "next");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("http://server/users?from=0&size=10"))
+                .andRespond(withSuccess(USERS, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = userClient.getAllUser(0, 10).block();
+
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(body(response), is(equalTo(USERS)));
+        assertThat(response.getHeaders().getContentType(), is(equalTo(MediaType.APPLICATION_JSON)));
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor"), is(equalTo("next")));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION), is(false));
+        server.verify();
+    }
+
+    @DisplayName("Should stream a passthrough body through the controller")
+    @Test
+    public void shouldStreamPassthroughBodyThroughController() throws Exception {
+        UserClient userClient = new UserClient(apiPrefix -> new BlockingTransport(rest, true));
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(userClient)).build();
+        server.expect(requestTo("http://server/users?from=0&size=10"))
+                .andRespond(withSuccess(USERS, MediaType.APPLICATION_JSON));
+
+        MvcResult result = mvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.content().string(USERS));
+        server.verify();
+    }
+
+    @DisplayName("Should relay server errors with their headers")
+    @Test
+    public void shouldRelayErrors() throws IOException {
+        UserClient userClient = new UserClient(apiPrefix -> new BlockingTransport(rest, true));
+        server.expect(requestTo("http://server/users/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"User with id=1 not found\"}"));
+
+        ResponseEntity<Object> response = userClient.getUserById(1L).block();
+
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.NOT_FOUND)));
+        assertThat(response.getHeaders().getContentType(), is(equalTo(MediaType.APPLICATION_JSON)));
+        assertThat(body(response), is(equalTo("{\"error\":\"User with id=1 not found\"}")));
+    }
+
+    @DisplayName("Should call the server off the subscribing thread")
+    @Test
+    public void shouldNotBlockSubscribingThread() {
+        UserClient userClient = new UserClient(apiPrefix -> new BlockingTransport(rest, true));
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        server.expect(requestTo("http://server/users/1"))
+                .andExpect(request -> caller.set(Thread.currentThread()))
+                .andRespond(withSuccess(USERS, MediaType.APPLICATION_JSON));
+
+        userClient.getUserById(1L).block();
+
+        assertThat(caller.get(), is(not(sameInstance(Thread.currentThread()))));
+        assertThat(caller.get().getName(), startsWith("boundedElastic"));
+    }
+
+    @DisplayName("Should deserialize server body when passthrough is disabled")
+    @Test
+    public void shouldDeserializeWithoutPassthrough() {
+        UserClient userClient = new UserClient(apiPrefix -> new BlockingTransport(rest, false));
+        server.expect(requestTo("http://server/users?from=0&size=10"))
+                .andRespond(withSuccess(USERS, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = userClient.getAllUser(0, 10).block();
+
+        assertThat(response.getBody(), is(instanceOf(List.class)));
+    }
+
+    @DisplayName("Should stream an import body to the server with its content type")
+    @Test
+    public void shouldStreamImportBody() throws IOException {
+        String items = "{\"name\":\"Drill\",\"description\":\"drill\",\"available\":true}\n";
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"));
+        ItemClient itemClient = new ItemClient(apiPrefix -> new BlockingTransport(rest, true));
+        server.expect(requestTo("http://server/items/import"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(items))
+                .andRespond(withSuccess("{\"imported\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = itemClient.importItems(
+                new ByteArrayInputStream(items.getBytes(StandardCharsets.UTF_8)), MediaType.APPLICATION_NDJSON, 1L)
+                .block();
+
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(body(response), is(equalTo("{\"imported\":1}")));
+        server.verify();
+    }
+
+    @DisplayName("Should relay an exported stream and its errors to the gateway response")
+    @Test
+    public void shouldRelayExport() throws Exception {
+        String lines = "{\"id\":2}\n{\"id\":1}\n";
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/bookings"));
+        BookingClient bookingClient = new BookingClient(apiPrefix -> new BlockingTransport(rest, true));
+        server.expect(requestTo("http://server/bookings/owner/export?state=PAST"))
+                .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+                .andRespond(withSuccess(lines, MediaType.APPLICATION_NDJSON));
+        server.expect(requestTo("http://server/bookings/export?state=ALL"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"User with id=1 not found\"}"));
+        MockHttpServletResponse exported = new MockHttpServletResponse();
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+
+        bookingClient.exportBookingsOwner(1L, BookingState.PAST, new ServletServerHttpResponse(exported)).block();
+        bookingClient.exportBookingsBooker(1L, BookingState.ALL, new ServletServerHttpResponse(missing)).block();
+
+        assertThat(exported.getStatus(), is(equalTo(HttpStatus.OK.value())));
+        assertThat(exported.getContentType(), is(equalTo(MediaType.APPLICATION_NDJSON_VALUE)));
+        assertThat(exported.getContentAsString(), is(equalTo(lines)));
+        assertThat(missing.getStatus(), is(equalTo(HttpStatus.NOT_FOUND.value())));
+        assertThat(missing.getContentAsString(), is(equalTo("{\"error\":\"User with id=1 not found\"}")));
+        server.verify();
+    }
+
+    @DisplayName("Should export through the controller without blocking the request thread")
+    @Test
+    public void shouldExportAsynchronously() throws Exception {
+        String lines = "{\"id\":1}\n";
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/bookings"));
+        BookingClient bookingClient = new BookingClient(apiPrefix -> new BlockingTransport(rest, true));
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingClient)).build();
+        server.expect(requestTo("http://server/bookings/owner/export?state=ALL"))
+                .andRespond(withSuccess(lines, MediaType.APPLICATION_NDJSON));
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(lines));
+        server.verify();
+    }
+
+    private static String body(ResponseEntity<Object> response) throws IOException {
+        assertThat(response.getBody(), is(instanceOf(Resource.class)));
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
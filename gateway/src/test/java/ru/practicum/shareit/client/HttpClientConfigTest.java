@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = {"shareit-server.http.max-total=40", "shareit-server.http.max-per-route=20"},
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+public class HttpClientConfigTest {
+    @Autowired
+    private PoolingHttpClientConnectionManager shareItConnectionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DisplayName("Should configure shared connection pool from properties and publish its metrics")
+    @Test
+    public void shouldConfigureConnectionPool() {
+        assertThat(shareItConnectionManager.getMaxTotal(), is(equalTo(40)));
+        assertThat(shareItConnectionManager.getDefaultMaxPerRoute(), is(equalTo(20)));
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge(), is(notNullValue()));
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge().value(), is(equalTo(40.0)));
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = HttpClientConfig.MODE + "=reactive",
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+public class ReactiveTransportTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ShareItTransportFactory shareItTransportFactory;
+
+    @DisplayName("Should switch to the reactive transport and keep validation errors")
+    @Test
+    public void shouldKeepValidationInReactiveMode() throws Exception {
+        assertThat(shareItTransportFactory.create("/bookings"), is(instanceOf(ReactiveTransport.class)));
+
+        mvc.perform(get("/bookings?state=ERROR")
+                        .header(USER_ID, 1))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @DisplayName("Should expand parameters and pass server responses through")
+    @Test
+    public void shouldPassServerResponsesThrough() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ReactiveTransport transport = new ReactiveTransport(stubServer(sent), false);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(USER_ID, "1");
+
+        ResponseEntity<Object> found = transport.exchange(HttpMethod.GET, "?state={state}", headers,
+                Map.of("state", "ALL"), null).block();
+        assertThat(sent.get().url().toString(), is(equalTo("http://server/bookings?state=ALL")));
+        assertThat(sent.get().headers().getFirst(USER_ID), is(equalTo("1")));
+        assertThat(found.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(found.getBody(), is(instanceOf(List.class)));
+
+        ResponseEntity<Object> missing = transport.exchange(HttpMethod.GET, "/missing", headers, null, null)
+                .block();
+        assertThat(missing.getStatusCode(), is(equalTo(HttpStatus.NOT_FOUND)));
+        assertThat(new String((byte[]) missing.getBody(), StandardCharsets.UTF_8),
+                is(equalTo("{\"error\":\"not found\"}")));
+    }
+
+    @DisplayName("Should relay server body bytes and headers in passthrough mode")
+    @Test
+    public void shouldRelayBytesInPassthroughMode() throws IOException {
+        ReactiveTransport transport = new ReactiveTransport(stubServer(new AtomicReference<>()), true);
+
+        ResponseEntity<Object> found = transport.exchange(HttpMethod.GET, "", new HttpHeaders(), null, null).block();
+        assertThat(found.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(found.getHeaders().getContentType(), is(equalTo(MediaType.APPLICATION_JSON)));
+        assertThat(found.getBody(), is(instanceOf(Resource.class)));
+        assertThat(body(found), is(equalTo("[{\"id\":1}]")));
+
+        ResponseEntity<Object> missing = transport.exchange(HttpMethod.GET, "/missing", new HttpHeaders(), null,
+                null).block();
+        assertThat(missing.getStatusCode(), is(equalTo(HttpStatus.NOT_FOUND)));
+        assertThat(missing.getHeaders().getContentType(), is(equalTo(MediaType.APPLICATION_JSON)));
+        assertThat(body(missing), is(equalTo("{\"error\":\"not found\"}")));
+    }
+
+    @DisplayName("Should cancel the server response when the relayed body is closed part-way through")
+    @Test
+    public void shouldCancelServerResponseWhenBodyIsClosed() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Flux<DataBuffer> stalled = Flux.concat(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[1024])),
+                        Mono.<DataBuffer>never())
+                .doOnCancel(cancelled::countDown);
+        WebClient server = WebClient.builder()
+                .baseUrl("http://server/bookings")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                        .body(stalled)
+                        .build()))
+                .build();
+        ReactiveTransport transport = new ReactiveTransport(server, true);
+
+        ResponseEntity<Object> found = transport.exchange(HttpMethod.GET, "/export", new HttpHeaders(), null, null)
+                .block();
+        try (InputStream body = ((Resource) found.getBody()).getInputStream()) {
+            assertThat(body.readNBytes(1024).length, is(1024));
+        }
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @DisplayName("Should relay a streamed server response to the gateway response")
+    @Test
+    public void shouldRelayStream() throws Exception {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ReactiveTransport transport = new ReactiveTransport(stubServer(sent), true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        transport.relay("/owner/export?state={state}", new HttpHeaders(), Map.of("state", "ALL"),
+                new ServletServerHttpResponse(response)).block();
+
+        assertThat(sent.get().url().toString(), is(equalTo("http://server/bookings/owner/export?state=ALL")));
+        assertThat(response.getStatus(), is(equalTo(HttpStatus.OK.value())));
+        assertThat(response.getContentType(), is(equalTo(MediaType.APPLICATION_JSON_VALUE)));
+        assertThat(response.getContentAsString(), is(equalTo("[{\"id\":1}]")));
+    }
+
+    private String body(ResponseEntity<Object> response) throws IOException {
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private WebClient stubServer(AtomicReference<ClientRequest> sent) {
+        return WebClient.builder()
+                .baseUrl("http://server/bookings")
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    HttpStatus status = request.url().getPath().endsWith("/missing")
+                            ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(status.is2xxSuccessful() ? "[{\"id\":1}]" : "{\"error\":\"not found\"}")
+                            .build());
+                })
+                .build();
+    }
+}
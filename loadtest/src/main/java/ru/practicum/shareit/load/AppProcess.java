@@ -0,0 +1,109 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+public final class AppProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final String name;
+    private final Process process;
+
+    private AppProcess(String name, Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    public static AppProcess start(String name, Path jar, Path logFile, int port, List<String> args)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(resolveJar(jar).toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        AppProcess app = new AppProcess(name, process);
+        try {
+            app.awaitHealthy(port);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        log.info("{} is up on port {}, log is written to {}", name, port, logFile);
+        return app;
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        log.info("{} has been stopped", name);
+    }
+
+    private void awaitHealthy(int port) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(POLL_INTERVAL.multipliedBy(4))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("{} is not up yet: {}", name, e.getMessage());
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException(name + " did not start in " + STARTUP_TIMEOUT);
+    }
+
+    private static Path resolveJar(Path jar) throws IOException {
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " does not exist, run mvn package first");
+        }
+        if (!Files.isDirectory(jar)) {
+            return jar;
+        }
+        try (Stream<Path> files = Files.list(jar)) {
+            List<Path> jars = new ArrayList<>();
+            files.filter(file -> file.getFileName().toString().endsWith(".jar")).forEach(jars::add);
+            return jars.stream()
+                    .filter(file -> file.getFileName().toString().endsWith("-exec.jar"))
+                    .findFirst()
+                    .or(() -> jars.size() == 1 ? jars.stream().findFirst() : Optional.empty())
+                    .orElseThrow(() -> new IllegalStateException("No executable jar found in " + jar +
+                            ", run mvn package first"));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@RequiredArgsConstructor
+public class Dataset {
+    public static final List<String> NOUNS = List.of("drill", "hammer", "saw", "ladder", "tent", "bicycle",
+            "kayak", "projector", "camera", "tripod", "grill", "mixer", "vacuum", "scooter", "guitar", "drone",
+            "sander", "jigsaw", "compressor", "generator", "trailer", "snowboard", "skis", "telescope");
+    public static final List<String> ADJECTIVES = List.of("cordless", "heavy", "compact", "professional",
+            "electric", "folding", "portable", "industrial", "vintage", "lightweight");
+
+    private final int users;
+    private final int itemsPerUser;
+
+    public static boolean isAvailable(long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    public long getOwner(long itemId) {
+        return (itemId - 1) / itemsPerUser + 1;
+    }
+
+    public long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1L);
+    }
+
+    public long randomOtherUser(long userId) {
+        long other = ThreadLocalRandom.current().nextLong(1, users);
+        return other >= userId ? other + 1 : other;
+    }
+
+    public long randomAvailableItem() {
+        long items = (long) users * itemsPerUser;
+        long itemId;
+        do {
+            itemId = ThreadLocalRandom.current().nextLong(1, items + 1);
+        } while (!isAvailable(itemId));
+        return itemId;
+    }
+
+    public String randomWord() {
+        return NOUNS.get(ThreadLocalRandom.current().nextInt(NOUNS.size()));
+    }
+}
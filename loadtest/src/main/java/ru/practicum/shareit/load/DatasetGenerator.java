@@ -0,0 +1,188 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+@Slf4j
+public class DatasetGenerator {
+    public static final String USERNAME = "test";
+    public static final String PASSWORD = "test";
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_SIZE = 50_000;
+    private static final int ITEMS_SEQUENCE_INCREMENT = 50;
+    private static final int ITEMS_PER_REQUEST = 5;
+
+    private final LoadTestConfig config;
+    private final Dataset dataset;
+    private final LocalDateTime current = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    public DatasetGenerator(LoadTestConfig config) {
+        this.config = config;
+        this.dataset = new Dataset(config.getUsers(), config.getItemsPerUser());
+    }
+
+    public Dataset generate() throws SQLException {
+        Flyway.configure()
+                .dataSource(config.getDatabaseUrl(), USERNAME, PASSWORD)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        Random random = new Random(config.getSeed());
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(config.getDatabaseUrl(), USERNAME, PASSWORD)) {
+            connection.setAutoCommit(false);
+            insertUsers(connection);
+            insertRequests(connection, random);
+            insertItems(connection, random);
+            long bookings = insertBookings(connection, random);
+            long comments = insertComments(connection, random);
+            restartIdentities(connection, bookings, comments);
+            connection.commit();
+            log.info("Dataset of {} users, {} items, {} requests, {} bookings and {} comments generated in {} s",
+                    config.getUsers(), config.getItems(), config.getRequests(), bookings, comments,
+                    (System.nanoTime() - started) / 1_000_000_000);
+        }
+        return dataset;
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= config.getUsers(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "user" + id);
+                statement.setString(3, "user" + id + "@shareit.ru");
+                addBatch(connection, statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertRequests(Connection connection, Random random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO requests (request_id, description, user_id, created) VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= config.getRequests(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "need a " + Dataset.NOUNS.get(random.nextInt(Dataset.NOUNS.size())));
+                statement.setLong(3, 1 + random.nextInt(config.getUsers()));
+                statement.setTimestamp(4, Timestamp.valueOf(current.minusHours(random.nextInt(24 * 365))));
+                addBatch(connection, statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertItems(Connection connection, Random random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO items " +
+                "(item_id, name, description, available, user_id, request_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= config.getItems(); id++) {
+                String noun = Dataset.NOUNS.get(random.nextInt(Dataset.NOUNS.size()));
+                String adjective = Dataset.ADJECTIVES.get(random.nextInt(Dataset.ADJECTIVES.size()));
+                statement.setLong(1, id);
+                statement.setString(2, adjective + " " + noun);
+                statement.setString(3, "A " + adjective + " " + noun + " in good condition, model " + id);
+                statement.setBoolean(4, Dataset.isAvailable(id));
+                statement.setLong(5, dataset.getOwner(id));
+                if (id % ITEMS_PER_REQUEST == 0 && id / ITEMS_PER_REQUEST <= config.getRequests()) {
+                    statement.setLong(6, id / ITEMS_PER_REQUEST);
+                } else {
+                    statement.setNull(6, Types.BIGINT);
+                }
+                addBatch(connection, statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private long insertBookings(Connection connection, Random random) throws SQLException {
+        long perItem = config.getBookings() / config.getItems();
+        long remainder = config.getBookings() % config.getItems();
+        long id = 0;
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO bookings " +
+                "(booking_id, time_start, time_end, item_id, user_id, status, owner_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (long itemId = 1; itemId <= config.getItems(); itemId++) {
+                long owner = dataset.getOwner(itemId);
+                long count = perItem + (itemId <= remainder ? 1 : 0);
+                for (long slot = 0; slot < count; slot++) {
+                    LocalDateTime start = current.plusDays(2 * (slot - count / 2));
+                    statement.setLong(1, ++id);
+                    statement.setTimestamp(2, Timestamp.valueOf(start));
+                    statement.setTimestamp(3, Timestamp.valueOf(start.plusDays(1)));
+                    statement.setLong(4, itemId);
+                    statement.setLong(5, randomOtherUser(random, owner));
+                    statement.setString(6, bookingStatus(random, start));
+                    statement.setLong(7, owner);
+                    addBatch(connection, statement, id);
+                }
+            }
+            statement.executeBatch();
+        }
+        return id;
+    }
+
+    private long insertComments(Connection connection, Random random) throws SQLException {
+        long id = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO comments (comment_id, text, item_id, user_id, created) VALUES (?, ?, ?, ?, ?)")) {
+            for (long itemId = 1; itemId <= config.getItems(); itemId++) {
+                for (int i = 0; i < config.getCommentsPerItem(); i++) {
+                    statement.setLong(1, ++id);
+                    statement.setString(2, "worked fine, review " + id);
+                    statement.setLong(3, itemId);
+                    statement.setLong(4, randomOtherUser(random, dataset.getOwner(itemId)));
+                    statement.setTimestamp(5, Timestamp.valueOf(current.minusHours(random.nextInt(24 * 365))));
+                    addBatch(connection, statement, id);
+                }
+            }
+            statement.executeBatch();
+        }
+        return id;
+    }
+
+    private void restartIdentities(Connection connection, long bookings, long comments) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE users ALTER COLUMN user_id RESTART WITH " + (config.getUsers() + 1));
+            statement.execute("ALTER TABLE requests ALTER COLUMN request_id RESTART WITH " +
+                    (config.getRequests() + 1));
+            statement.execute("ALTER TABLE bookings ALTER COLUMN booking_id RESTART WITH " + (bookings + 1));
+            statement.execute("ALTER TABLE comments ALTER COLUMN comment_id RESTART WITH " + (comments + 1));
+            statement.execute("ALTER SEQUENCE items_seq RESTART WITH " +
+                    (config.getItems() + 2 * ITEMS_SEQUENCE_INCREMENT));
+        }
+    }
+
+    private void addBatch(Connection connection, PreparedStatement statement, long count) throws SQLException {
+        statement.addBatch();
+        if (count % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+        if (count % COMMIT_SIZE == 0) {
+            connection.commit();
+        }
+    }
+
+    private long randomOtherUser(Random random, long userId) {
+        long other = 1 + random.nextInt(config.getUsers() - 1);
+        return other >= userId ? other + 1 : other;
+    }
+
+    private String bookingStatus(Random random, LocalDateTime start) {
+        int roll = random.nextInt(10);
+        if (start.isBefore(current)) {
+            return roll < 8 ? "APPROVED" : roll < 9 ? "REJECTED" : "CANCELED";
+        }
+        return roll < 6 ? "APPROVED" : roll < 9 ? "WAITING" : "REJECTED";
+    }
+}
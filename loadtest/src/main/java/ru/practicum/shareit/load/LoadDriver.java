@@ -0,0 +1,185 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class LoadDriver {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PAGE = "from=0&size=20";
+
+    private final LoadTestConfig config;
+    private final Dataset dataset;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Queue<PendingBooking> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bookingSlot = new AtomicLong();
+    private final LocalDateTime bookingBase = LocalDateTime.now().plusYears(10).truncatedTo(ChronoUnit.DAYS);
+    private final Operation[] weighted;
+
+    public LoadDriver(LoadTestConfig config, Dataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+        this.baseUrl = "http://localhost:" + config.getGatewayPort();
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+        weighted = config.getMix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        if (weighted.length == 0) {
+            throw new IllegalArgumentException("Load test mix must have at least one positive weight");
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(config.getThreads());
+        long warmupEnd = System.nanoTime() + config.getWarmup().toNanos();
+        long end = warmupEnd + config.getDuration().toNanos();
+        for (int i = 0; i < config.getThreads(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    execute(weighted[ThreadLocalRandom.current().nextInt(weighted.length)]);
+                }
+            });
+        }
+        log.info("Warming up for {} with {} threads", config.getWarmup(), config.getThreads());
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        latencies.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        long measureStart = System.nanoTime();
+        log.info("Measuring for {}", config.getDuration());
+        workers.shutdown();
+        if (!workers.awaitTermination(config.getDuration().plus(REQUEST_TIMEOUT).toMillis(), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        Duration measured = Duration.ofNanos(System.nanoTime() - measureStart);
+        LoadReport report = new LoadReport(measured);
+        for (Operation operation : Operation.values()) {
+            report.add(operation, latencies.get(operation).getIntervalHistogram(), errors.get(operation).sum());
+        }
+        return report;
+    }
+
+    private void execute(Operation operation) {
+        PendingBooking booking = null;
+        if (operation == Operation.APPROVE_BOOKING) {
+            booking = pending.poll();
+            if (booking == null) {
+                operation = Operation.CREATE_BOOKING;
+            }
+        }
+        long started = System.nanoTime();
+        boolean success;
+        try {
+            switch (operation) {
+                case SEARCH:
+                    success = search();
+                    break;
+                case OWNER_ITEMS:
+                    success = ownerItems();
+                    break;
+                case CREATE_BOOKING:
+                    success = createBooking();
+                    break;
+                default:
+                    success = approveBooking(booking);
+                    break;
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private boolean search() throws IOException, InterruptedException {
+        HttpRequest request = request("/items/search?text=" + dataset.randomWord() + "&" + PAGE,
+                dataset.randomUser()).GET().build();
+        return isSuccessful(client.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private boolean ownerItems() throws IOException, InterruptedException {
+        HttpRequest request = request("/items?" + PAGE, dataset.randomUser()).GET().build();
+        return isSuccessful(client.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private boolean createBooking() throws IOException, InterruptedException {
+        long itemId = dataset.randomAvailableItem();
+        long owner = dataset.getOwner(itemId);
+        LocalDateTime start = bookingBase.plusHours(2 * bookingSlot.getAndIncrement());
+        String body = objectMapper.writeValueAsString(Map.of("itemId", itemId,
+                "start", start.toString(), "end", start.plusHours(1).toString()));
+        HttpRequest request = request("/bookings", dataset.randomOtherUser(owner))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (!isSuccessful(response)) {
+            return false;
+        }
+        pending.offer(new PendingBooking(objectMapper.readTree(response.body()).get("id").asLong(), owner));
+        return true;
+    }
+
+    private boolean approveBooking(PendingBooking booking) throws IOException, InterruptedException {
+        HttpRequest request = request("/bookings/" + booking.id + "?approved=true", booking.owner)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return isSuccessful(client.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private HttpRequest.Builder request(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_ID, String.valueOf(userId));
+    }
+
+    private boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static final class PendingBooking {
+        private final long id;
+        private final long owner;
+
+        private PendingBooking(long id, long owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class LoadReport {
+    private static final String ROW = "%-16s %9s %9s %10s %9s %9s %9s %9s %9s";
+    private static final double MILLIS = 1000.0;
+
+    private final Duration measured;
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+    public LoadReport(Duration measured) {
+        this.measured = measured;
+    }
+
+    public void add(Operation operation, Histogram histogram, long errorCount) {
+        histograms.put(operation, histogram);
+        errors.put(operation, errorCount);
+    }
+
+    public void print() {
+        double seconds = measured.toMillis() / MILLIS;
+        log.info("Results for {} s:", seconds);
+        log.info(String.format(ROW, "operation", "requests", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total += histogram.getTotalCount();
+            log.info(String.format(ROW, entry.getKey(), histogram.getTotalCount(), errors.get(entry.getKey()),
+                    format(histogram.getTotalCount() / seconds), millis(histogram, 50), millis(histogram, 90),
+                    millis(histogram, 99), millis(histogram, 99.9), format(histogram.getMaxValue() / MILLIS)));
+        }
+        log.info("Throughput: {} requests/s", format(total / seconds));
+    }
+
+    public List<String> check(Duration maxP99, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long failed = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            requests += histogram.getTotalCount();
+            failed += errors.get(entry.getKey());
+            long p99 = histogram.getValueAtPercentile(99);
+            if (histogram.getTotalCount() > 0 && p99 > maxP99.toNanos() / 1000) {
+                violations.add(entry.getKey() + " p99 " + format(p99 / MILLIS) + " ms exceeds " +
+                        maxP99.toMillis() + " ms");
+            }
+        }
+        if (requests == 0) {
+            violations.add("no requests completed");
+        } else if ((double) failed / requests > maxErrorRate) {
+            violations.add("error rate " + format(100.0 * failed / requests) + "% exceeds " +
+                    format(100 * maxErrorRate) + "%");
+        }
+        return violations;
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return format(histogram.getValueAtPercentile(percentile) / MILLIS);
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        prepareWorkDir(config.getWorkDir());
+        Dataset dataset = new DatasetGenerator(config).generate();
+
+        LoadReport report;
+        try (AppProcess server = AppProcess.start("server", config.getServerJar(),
+                config.getWorkDir().resolve("server.log"), config.getServerPort(), List.of(
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.url=" + config.getDatabaseUrl(),
+                        "--spring.datasource.username=" + DatasetGenerator.USERNAME,
+                        "--spring.datasource.password=" + DatasetGenerator.PASSWORD,
+                        "--shareit.search.engine=database",
+                        "--shareit.metrics.jdbc-rows.enabled=true"));
+             AppProcess gateway = AppProcess.start("gateway", config.getGatewayJar(),
+                     config.getWorkDir().resolve("gateway.log"), config.getGatewayPort(), List.of(
+                             "--shareit-server.url=http://localhost:" + config.getServerPort(),
+                             "--logging.level.org.springframework.web.client.RestTemplate=INFO"))) {
+            report = new LoadDriver(config, dataset).run();
+        }
+        report.print();
+        List<String> violations = report.check(config.getMaxP99(), config.getMaxErrorRate());
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Load test failed: " + String.join("; ", violations));
+        }
+    }
+
+    private static void prepareWorkDir(Path workDir) throws IOException {
+        Files.createDirectories(workDir);
+        try (Stream<Path> files = Files.list(workDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith("shareit.")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+public class LoadTestConfig {
+    private final int users;
+    private final int itemsPerUser;
+    private final int requests;
+    private final long bookings;
+    private final int commentsPerItem;
+    private final long seed;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final Path workDir;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final Map<Operation, Integer> mix;
+    private final Duration maxP99;
+    private final double maxErrorRate;
+
+    private LoadTestConfig(Map<String, String> args) {
+        users = Integer.parseInt(args.getOrDefault("users", "1000"));
+        itemsPerUser = Integer.parseInt(args.getOrDefault("items-per-user", "10"));
+        requests = Integer.parseInt(args.getOrDefault("requests", "2000"));
+        bookings = Long.parseLong(args.getOrDefault("bookings", "1000000"));
+        commentsPerItem = Integer.parseInt(args.getOrDefault("comments-per-item", "2"));
+        seed = Long.parseLong(args.getOrDefault("seed", "42"));
+        threads = Integer.parseInt(args.getOrDefault("threads", "16"));
+        warmup = parseDuration(args.getOrDefault("warmup", "15s"));
+        duration = parseDuration(args.getOrDefault("duration", "60s"));
+        serverPort = Integer.parseInt(args.getOrDefault("server-port", "19090"));
+        gatewayPort = Integer.parseInt(args.getOrDefault("gateway-port", "18080"));
+        workDir = Path.of(args.getOrDefault("work-dir", "target/loadtest")).toAbsolutePath();
+        serverJar = Path.of(args.getOrDefault("server-jar", "../server/target")).toAbsolutePath();
+        gatewayJar = Path.of(args.getOrDefault("gateway-jar", "../gateway/target")).toAbsolutePath();
+        mix = parseMix(args.getOrDefault("mix", "search:40,owner-items:30,create-booking:20,approve-booking:10"));
+        maxP99 = parseDuration(args.getOrDefault("max-p99", "500ms"));
+        maxErrorRate = Double.parseDouble(args.getOrDefault("max-error-rate", "0.01"));
+        if (users < 2 || itemsPerUser < 1 || threads < 1 || bookings < 0) {
+            throw new IllegalArgumentException("Load test needs at least 2 users, 1 item per user and 1 thread");
+        }
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Argument " + arg + " is not in --name=value form");
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    public int getItems() {
+        return users * itemsPerUser;
+    }
+
+    public String getDatabaseUrl() {
+        return "jdbc:h2:file:" + workDir.resolve("shareit");
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Operation.of(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+public enum Operation {
+    SEARCH("search"),
+    OWNER_ITEMS("owner-items"),
+    CREATE_BOOKING("create-booking"),
+    APPROVE_BOOKING("approve-booking");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    public static Operation of(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + name));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,54 @@
+package db.migration.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+public class V6_1__BackfillBookingOwner extends BaseJavaMigration {
+    private static final long BATCH_SIZE = 10_000;
+    private static final String RANGE = "SELECT MIN(booking_id), MAX(booking_id) FROM bookings WHERE owner_id IS NULL";
+    private static final String BACKFILL = "UPDATE bookings SET owner_id = " +
+            "(SELECT i.user_id FROM items i WHERE i.item_id = bookings.item_id) " +
+            "WHERE booking_id BETWEEN ? AND ? AND owner_id IS NULL";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long first;
+        long last;
+        try (Statement statement = connection.createStatement();
+             ResultSet range = statement.executeQuery(RANGE)) {
+            range.next();
+            first = range.getLong(1);
+            last = range.getLong(2);
+            if (range.wasNull()) {
+                return;
+            }
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement backfill = connection.prepareStatement(BACKFILL)) {
+            for (long from = first; from <= last; from += BATCH_SIZE) {
+                backfill.setLong(1, from);
+                backfill.setLong(2, from + BATCH_SIZE - 1);
+                int updated = backfill.executeUpdate();
+                connection.commit();
+                log.info("Backfilled owner_id for {} bookings with ids {}..{}", updated, from, from + BATCH_SIZE - 1);
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package db.migration.postgresql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+@Slf4j
+public class V6_2__BookingOwnerConstraints extends BaseJavaMigration {
+    private static final List<String> STATEMENTS = List.of(
+            "UPDATE bookings SET owner_id = (SELECT i.user_id FROM items i WHERE i.item_id = bookings.item_id) " +
+                    "WHERE owner_id IS NULL",
+            "ALTER TABLE bookings ADD CONSTRAINT chk_bookings_owner_not_null CHECK (owner_id IS NOT NULL) NOT VALID",
+            "ALTER TABLE bookings VALIDATE CONSTRAINT chk_bookings_owner_not_null",
+            "ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL",
+            "ALTER TABLE bookings DROP CONSTRAINT IF EXISTS chk_bookings_owner_not_null",
+            "ALTER TABLE bookings ADD CONSTRAINT fk_booking_to_owner FOREIGN KEY (owner_id) " +
+                    "REFERENCES users (user_id) ON DELETE CASCADE NOT VALID",
+            "ALTER TABLE bookings VALIDATE CONSTRAINT fk_booking_to_owner");
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : STATEMENTS) {
+                statement.execute(sql);
+                log.info("Executed {}", sql);
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
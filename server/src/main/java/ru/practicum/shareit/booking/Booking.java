@@ -9,12 +9,17 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("booker")})
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
+    public static final String WITH_DETAILS = "Booking.withDetails";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "booking_id")
@@ -23,14 +28,16 @@ public class Booking {
     private LocalDateTime start;
     @Column(name = "time_end")
     private LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "item_id")
     @ToString.Exclude
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
     @ToString.Exclude
     private User booker;
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+    @Column(name = "owner_id")
+    private Long ownerId;
 }
@@ -3,11 +3,18 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -19,6 +26,7 @@ public class BookingController {
     private static final String PAGE_FROM = "0";
     private static final String PAGE_SIZE = "10";
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -37,6 +45,13 @@ public class BookingController {
         return bookingService.updateBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public List<BookingDecisionResultDto> updateBookings(@RequestHeader(USER_ID) Long userId,
+                                                         @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("PATCH owner request id={} for update {} bookings", userId, decisions.size());
+        return bookingService.updateBookings(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getOneBookingUser(@PathVariable Long bookingId,
                                         @RequestHeader(USER_ID) Long userId) {
@@ -54,6 +69,29 @@ public class BookingController {
         return bookingService.getAllBookingsBooker(userId, BookingState.valueOf(state), from, size);
     }
 
+    @GetMapping(params = PageCursor.PARAM)
+    public ResponseEntity<List<BookingDto>> getAllBookingsBookerByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                         @RequestParam(defaultValue = STATE)
+                                                                         String state,
+                                                                         @RequestParam String cursor,
+                                                                         @RequestParam(defaultValue = PAGE_SIZE)
+                                                                         Integer size) {
+        log.info("GET user request id={} for view bookings state={}. Cursor={}, page size={}",
+                userId, state, cursor, size);
+        return bookingService.getAllBookingsBookerByCursor(userId, BookingState.valueOf(state), cursor, size)
+                .toResponseEntity();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsBooker(@RequestHeader(USER_ID) Long userId,
+                                                                      @RequestParam(defaultValue = STATE)
+                                                                      String state) {
+        log.info("GET user request id={} for export bookings state={}", userId, state);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingExportService.exportBookingsBooker(userId, BookingState.valueOf(state)));
+    }
+
     @GetMapping("/owner")
     public Collection<BookingDto> getAllBookingsOwner(@RequestHeader(USER_ID) Long userId,
                                                       @RequestParam(defaultValue = STATE) String state,
@@ -63,4 +101,27 @@ public class BookingController {
                 userId, state, from, size);
         return bookingService.getAllBookingsOwner(userId, BookingState.valueOf(state), from, size);
     }
+
+    @GetMapping(value = "/owner", params = PageCursor.PARAM)
+    public ResponseEntity<List<BookingDto>> getAllBookingsOwnerByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                        @RequestParam(defaultValue = STATE)
+                                                                        String state,
+                                                                        @RequestParam String cursor,
+                                                                        @RequestParam(defaultValue = PAGE_SIZE)
+                                                                        Integer size) {
+        log.info("GET owner request id={} for view bookings state={}. Cursor={}, page size={}",
+                userId, state, cursor, size);
+        return bookingService.getAllBookingsOwnerByCursor(userId, BookingState.valueOf(state), cursor, size)
+                .toResponseEntity();
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsOwner(@RequestHeader(USER_ID) Long userId,
+                                                                     @RequestParam(defaultValue = STATE)
+                                                                     String state) {
+        log.info("GET owner request id={} for export bookings state={}", userId, state);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingExportService.exportBookingsOwner(userId, BookingState.valueOf(state)));
+    }
 }
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.time.TimeService;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+    private static final int LINE_SEPARATOR = '\n';
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final BookingMapper bookingMapper;
+    private final TimeService timeService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    @Value("${shareit.booking.export.fetch-size:500}")
+    private int fetchSize;
+
+    public StreamingResponseBody exportBookingsBooker(Long userId, BookingState bookingState) {
+        userService.checkExists(userId);
+        LocalDateTime current = timeService.current();
+        return out -> {
+            long exported = export(out, () -> bookingRepository.streamBookerHistory(userId, bookingState, current,
+                    fetchSize));
+            log.info("{} bookings were exported for booker id={}", exported, userId);
+        };
+    }
+
+    public StreamingResponseBody exportBookingsOwner(Long userId, BookingState bookingState) {
+        userService.checkExists(userId);
+        LocalDateTime current = timeService.current();
+        return out -> {
+            long exported = export(out, () -> bookingRepository.streamOwnerHistory(userId, bookingState, current,
+                    fetchSize));
+            log.info("{} bookings were exported for owner id={}", exported, userId);
+        };
+    }
+
+    private long export(OutputStream out, Supplier<Stream<Booking>> history) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Long exported = transaction.execute(status -> {
+            try (Stream<Booking> bookings = history.get()) {
+                return bookings.mapToLong(booking -> {
+                    writeLine(out, booking);
+                    entityManager.detach(booking);
+                    return 1;
+                }).sum();
+            }
+        });
+        return exported == null ? 0 : exported;
+    }
+
+    private void writeLine(OutputStream out, Booking booking) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(bookingMapper.toBookingDto(booking)));
+            out.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.occupancy.BookingOverlapCheck;
+import ru.practicum.shareit.booking.occupancy.IntervalTree;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingItemService {
     private final BookingRepository bookingRepository;
+    private final BookingOverlapCheck bookingOverlapCheck;
 
     public List<Booking> getNextBookingsForOwner(LocalDateTime current, List<Long> itemsId, BookingStatus status) {
         return bookingRepository.findNextBookingsForOwner(current, itemsId, status);
@@ -24,4 +27,8 @@ public class BookingItemService {
         return bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(
                 itemId, userId, bookingStatus, localDateTime);
     }
+
+    public List<IntervalTree.Interval> getOccupiedIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return bookingOverlapCheck.occupied(itemId, from, to);
+    }
 }
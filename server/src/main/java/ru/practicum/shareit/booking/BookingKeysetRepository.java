@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingKeysetRepository {
+    List<Booking> findBookerPage(Long userId, BookingState state, LocalDateTime current, PageCursor after, int limit);
+
+    List<Booking> findOwnerPage(Long userId, BookingState state, LocalDateTime current, PageCursor after, int limit);
+
+    Stream<Booking> streamBookerHistory(Long userId, BookingState state, LocalDateTime current, int fetchSize);
+
+    Stream<Booking> streamOwnerHistory(Long userId, BookingState state, LocalDateTime current, int fetchSize);
+}
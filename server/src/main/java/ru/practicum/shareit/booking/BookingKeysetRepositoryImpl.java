@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.jpa.QueryHints;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerPage(Long userId, BookingState state, LocalDateTime current,
+                                        PageCursor after, int limit) {
+        return findPage(booking -> booking.get("booker").get("id"), userId, state, current, after, limit);
+    }
+
+    @Override
+    public List<Booking> findOwnerPage(Long userId, BookingState state, LocalDateTime current,
+                                       PageCursor after, int limit) {
+        return findPage(booking -> booking.get("ownerId"), userId, state, current, after, limit);
+    }
+
+    @Override
+    public Stream<Booking> streamBookerHistory(Long userId, BookingState state, LocalDateTime current, int fetchSize) {
+        return streamHistory(booking -> booking.get("booker").get("id"), userId, state, current, fetchSize);
+    }
+
+    @Override
+    public Stream<Booking> streamOwnerHistory(Long userId, BookingState state, LocalDateTime current, int fetchSize) {
+        return streamHistory(booking -> booking.get("ownerId"), userId, state, current, fetchSize);
+    }
+
+    private List<Booking> findPage(Function<Root<Booking>, Path<Long>> user, Long userId, BookingState state,
+                                   LocalDateTime current, PageCursor after, int limit) {
+        CriteriaQuery<Booking> query = entityManager.getCriteriaBuilder().createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        return entityManager.createQuery(where(query, booking, user, userId, state, current, after))
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(Booking.WITH_DETAILS))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Stream<Booking> streamHistory(Function<Root<Booking>, Path<Long>> user, Long userId, BookingState state,
+                                          LocalDateTime current, int fetchSize) {
+        CriteriaQuery<Booking> query = entityManager.getCriteriaBuilder().createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        return entityManager.createQuery(where(query, booking, user, userId, state, current, null))
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(Booking.WITH_DETAILS))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<Booking> where(CriteriaQuery<Booking> query, Root<Booking> booking,
+                                         Function<Root<Booking>, Path<Long>> user, Long userId, BookingState state,
+                                         LocalDateTime current, PageCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(user.apply(booking), userId));
+        switch (state) {
+            case PAST:
+                predicates.add(cb.lessThan(end, current));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, current));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThan(start, current));
+                predicates.add(cb.greaterThan(end, current));
+                break;
+            default:
+                break;
+        }
+        if (after != null) {
+            predicates.add(cb.or(cb.lessThan(start, after.getPosition()),
+                    cb.and(cb.equal(start, after.getPosition()), cb.lessThan(id, after.getId()))));
+        }
+
+        return query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+    }
+}
@@ -29,6 +29,7 @@ public interface BookingMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "booker", source = "user")
     @Mapping(target = "status", constant = "WAITING")
+    @Mapping(target = "ownerId", expression = "java(item.getOwner().getId())")
     Booking toBooking(BookingDtoCreate bookingDtoCreate, User user, Item item);
 
     @Mapping(target = "bookerId", source = "booker.id")
@@ -1,56 +1,104 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingStatusView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("SELECT b FROM Booking b WHERE b.id = :bookingId AND (b.booker.id = :userId OR b.item.owner.id = :userId)")
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingKeysetRepository {
+    String BOOKER_BOOKINGS = "SELECT b FROM Booking b WHERE b.booker.id = :userId ";
+
+    @EntityGraph(Booking.WITH_DETAILS)
+    Optional<Booking> findWithDetailsById(Long id);
+
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query("SELECT b FROM Booking b WHERE b.id = :bookingId AND (b.booker.id = :userId OR b.ownerId = :userId)")
     Optional<Booking> findBookingByIdAndUser(@Param("bookingId") Long bookingId, @Param("userId") Long userId);
 
-    List<Booking> findAllByItem_Owner_Id(Long userId, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    List<Booking> findAllByOwnerId(Long userId, Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    List<Booking> findAllByOwnerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndEndBefore(Long userId, LocalDateTime current, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    List<Booking> findAllByOwnerIdAndEndBefore(Long userId, LocalDateTime current, Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndStartAfter(Long userId, LocalDateTime current, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    List<Booking> findAllByOwnerIdAndStartAfter(Long userId, LocalDateTime current, Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndStartBeforeAndEndAfter(Long userId, LocalDateTime current,
-                                                                  LocalDateTime currentDuplicate, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    List<Booking> findAllByOwnerIdAndStartBeforeAndEndAfter(Long userId, LocalDateTime current,
+                                                            LocalDateTime currentDuplicate, Pageable pageable);
 
-    List<Booking> findAllByBooker_Id(Long userId, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query(BOOKER_BOOKINGS)
+    List<Booking> findAllByBooker_Id(@Param("userId") Long userId, Pageable pageable);
 
-    List<Booking> findAllByBooker_IdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query(BOOKER_BOOKINGS + "AND b.status = :status")
+    List<Booking> findAllByBooker_IdAndStatus(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                              Pageable pageable);
 
-    List<Booking> findAllByBooker_IdAndEndBefore(Long userId, LocalDateTime current, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query(BOOKER_BOOKINGS + "AND b.end < :current")
+    List<Booking> findAllByBooker_IdAndEndBefore(@Param("userId") Long userId,
+                                                 @Param("current") LocalDateTime current, Pageable pageable);
 
-    List<Booking> findAllByBooker_IdAndStartAfter(Long userId, LocalDateTime current, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query(BOOKER_BOOKINGS + "AND b.start > :current")
+    List<Booking> findAllByBooker_IdAndStartAfter(@Param("userId") Long userId,
+                                                  @Param("current") LocalDateTime current, Pageable pageable);
 
-    List<Booking> findAllByBooker_IdAndStartBeforeAndEndAfter(Long userId, LocalDateTime current,
-                                                              LocalDateTime currentDuplicate, Pageable pageable);
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query(BOOKER_BOOKINGS + "AND b.start < :current AND b.end > :currentDuplicate")
+    List<Booking> findAllByBooker_IdAndStartBeforeAndEndAfter(@Param("userId") Long userId,
+                                                              @Param("current") LocalDateTime current,
+                                                              @Param("currentDuplicate") LocalDateTime currentDuplicate,
+                                                              Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.id IN " +
-            "(SELECT b2.id FROM Booking b2 WHERE b2.item.id IN :itemIds AND b2.start >= :current " +
-            "AND b2.start = (SELECT MIN(b3.start) " +
-            "FROM Booking b3 WHERE b3.item.id = b2.item.id AND b3.start >= :current AND b.status = :status))")
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 " +
+            "WHERE b2.item.id = b.item.id AND b2.status = :status AND b2.start >= :current)")
     List<Booking> findNextBookingsForOwner(@Param("current") LocalDateTime current,
                                            @Param("itemIds") List<Long> itemIds,
                                            @Param("status") BookingStatus status);
 
-    @Query("SELECT b FROM Booking b WHERE b.id IN " +
-            "(SELECT b2.id FROM Booking b2 WHERE b2.item.id IN :itemIds AND b2.start <= :current " +
-            "AND b2.start = (SELECT MAX(b3.start) " +
-            "FROM Booking b3 WHERE b3.item.id = b2.item.id AND b3.start <= :current AND b.status = :status))")
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start = (SELECT MAX(b2.start) FROM Booking b2 " +
+            "WHERE b2.item.id = b.item.id AND b2.status = :status AND b2.start <= :current)")
     List<Booking> findLastBookingsForOwner(@Param("current") LocalDateTime current,
                                            @Param("itemIds") List<Long> itemIds,
                                            @Param("status") BookingStatus status);
 
     boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId,
                                                            BookingStatus status, LocalDateTime current);
+
+    boolean existsByItem_IdAndStatusInAndEndAfterAndStartBefore(Long itemId, Collection<BookingStatus> statuses,
+                                                                LocalDateTime start, LocalDateTime end);
+
+    List<BookingPeriodView> findPeriodsByItem_IdAndStatusInAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                                       LocalDateTime end);
+
+    List<BookingPeriodView> findPeriodsByItem_IdAndStatusInAndEndAfterAndStartBeforeOrderByStartAsc(
+            Long itemId, Collection<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end, b.status AS status " +
+            "FROM Booking b WHERE b.id IN :ids AND b.ownerId = :ownerId")
+    List<BookingStatusView> findStatusesForOwner(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = :current")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("current") BookingStatus current,
+                     @Param("status") BookingStatus status);
 }
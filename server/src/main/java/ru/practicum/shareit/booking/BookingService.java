@@ -2,22 +2,35 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.BookingStatusView;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.occupancy.BookingOverlapCheck;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.time.TimeService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.BookingStatus.*;
 
@@ -25,10 +38,14 @@ import static ru.practicum.shareit.booking.BookingStatus.*;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
+    private static final String OVERLAP_CONSTRAINT = "excl_bookings_item_period";
     private final BookingRepository bookingRepository;
     private final ItemService itemService;
     private final UserService userService;
     private final BookingMapper bookingMapper;
+    private final BookingOverlapCheck bookingOverlapCheck;
+    private final TimeService timeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BookingDto createBooking(BookingDtoCreate bookingDtoCreate, Long userId) {
@@ -36,7 +53,9 @@ public class BookingService {
         Item item = getAvailableItemByIdIfItExists(bookingDtoCreate.getItemId(), userId);
 
         getExceptionIfUserIsNotBooker(userId, item);
-        Booking booking = bookingRepository.save(bookingMapper.toBooking(bookingDtoCreate, booker, item));
+        getExceptionIfItemIsBooked(item, bookingDtoCreate);
+        Booking booking = saveIfNotOverlapping(bookingMapper.toBooking(bookingDtoCreate, booker, item));
+        publishChanged(booking);
         log.info("User id={} created booking id={} : {}", userId, booking.getId(), bookingDtoCreate);
         return bookingMapper.toBookingDto(booking);
     }
@@ -49,10 +68,66 @@ public class BookingService {
         getExceptionIfUserIsNotOwner(userId, bookingOld);
 
         Booking bookingUpdated = bookingRepository.save(bookingOld);
+        publishChanged(bookingUpdated);
         log.info("Owner item updated status booking id={} to : {}", userId, status);
         return bookingMapper.toBookingDto(bookingUpdated);
     }
 
+    @Transactional
+    public List<BookingDecisionResultDto> updateBookings(Long userId, List<BookingDecisionDto> decisions) {
+        Map<Long, Boolean> approvals = new HashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision.getBookingId() == null || decision.getApproved() == null) {
+                log.warn("Incomplete booking decision {} from owner id={}", decision, userId);
+                throw new ValidationException("Booking decision must have bookingId and approved");
+            }
+            if (approvals.put(decision.getBookingId(), decision.getApproved()) != null) {
+                log.warn("Booking id={} is decided twice by owner id={}", decision.getBookingId(), userId);
+                throw new ValidationException("Booking id=" + decision.getBookingId() + " is decided twice");
+            }
+        }
+        if (approvals.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookingStatusView> bookings = bookingRepository.findStatusesForOwner(approvals.keySet(), userId)
+                .stream()
+                .collect(Collectors.toMap(BookingStatusView::getId, Function.identity()));
+
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        Map<BookingStatus, List<Long>> changes = new EnumMap<>(BookingStatus.class);
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            BookingStatusView booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.add(new BookingDecisionResultDto(bookingId, null,
+                        "Booking with id=" + bookingId + " not found"));
+            } else if (booking.getStatus() != WAITING) {
+                results.add(new BookingDecisionResultDto(bookingId, booking.getStatus(),
+                        "Booking status is not WAITING"));
+            } else {
+                BookingStatus status = decision.getApproved() ? APPROVED : REJECTED;
+                changes.computeIfAbsent(status, key -> new ArrayList<>()).add(bookingId);
+                results.add(new BookingDecisionResultDto(bookingId, status, null));
+            }
+        }
+
+        for (Map.Entry<BookingStatus, List<Long>> change : changes.entrySet()) {
+            int updated = bookingRepository.updateStatus(change.getValue(), WAITING, change.getKey());
+            if (updated != change.getValue().size()) {
+                log.warn("Bookings {} of owner id={} have been changed concurrently", change.getValue(), userId);
+                throw new ConflictException("Bookings have been changed concurrently, retry the request");
+            }
+            for (Long bookingId : change.getValue()) {
+                BookingStatusView booking = bookings.get(bookingId);
+                eventPublisher.publishEvent(new BookingChangedEvent(bookingId, booking.getItemId(), userId,
+                        booking.getStart(), booking.getEnd(), change.getKey()));
+            }
+        }
+        log.info("Owner id={} decided {} of {} bookings", userId,
+                changes.values().stream().mapToInt(List::size).sum(), decisions.size());
+        return results;
+    }
+
     @Transactional(readOnly = true)
     public BookingDto getOneBookingUser(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findBookingByIdAndUser(bookingId, userId).orElseThrow(() -> {
@@ -66,7 +141,7 @@ public class BookingService {
     @Transactional(readOnly = true)
     public Collection<BookingDto> getAllBookingsBooker(Long userId, BookingState bookingState,
                                                        Integer from, Integer size) {
-        getUserIfTheExists(userId);
+        userService.checkExists(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("start")));
         Collection<Booking> allBookings = getBookingsForBooker(bookingState, userId, pageable);
         log.info("Information about bookings was obtained by booker id={}", userId);
@@ -76,13 +151,37 @@ public class BookingService {
     @Transactional(readOnly = true)
     public Collection<BookingDto> getAllBookingsOwner(Long userId, BookingState bookingState,
                                                       Integer from, Integer size) {
-        getUserIfTheExists(userId);
+        userService.checkExists(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("start")));
         Collection<Booking> allBookings = getBookingsForOwner(bookingState, userId, pageable);
         log.info("Information about bookings was obtained by owner id={}", userId);
         return bookingMapper.toBookingDto(allBookings);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getAllBookingsBookerByCursor(Long userId, BookingState bookingState,
+                                                               String cursor, Integer size) {
+        userService.checkExists(userId);
+        List<Booking> bookings = bookingRepository.findBookerPage(userId, bookingState, timeService.current(),
+                PageCursor.decodePositioned(cursor), size + 1);
+        log.info("Information about bookings after cursor={} was obtained by booker id={}", cursor, userId);
+        return CursorPage.of(bookings, size, this::toCursor, bookingMapper::toBookingDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getAllBookingsOwnerByCursor(Long userId, BookingState bookingState,
+                                                              String cursor, Integer size) {
+        userService.checkExists(userId);
+        List<Booking> bookings = bookingRepository.findOwnerPage(userId, bookingState, timeService.current(),
+                PageCursor.decodePositioned(cursor), size + 1);
+        log.info("Information about bookings after cursor={} was obtained by owner id={}", cursor, userId);
+        return CursorPage.of(bookings, size, this::toCursor, bookingMapper::toBookingDto);
+    }
+
+    private PageCursor toCursor(Booking booking) {
+        return PageCursor.of(booking.getStart(), booking.getId());
+    }
+
     private User getUserIfTheExists(Long userId) {
         return userService.findById(userId);
     }
@@ -98,7 +197,7 @@ public class BookingService {
     }
 
     private Booking getBookingNotWaitingIfItExists(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        Booking booking = bookingRepository.findWithDetailsById(bookingId).orElseThrow(() -> {
             log.warn("Booking id={} user id={} not found", bookingId, userId);
             return new NotFoundException("Booking with id=" + bookingId + " not found");
         });
@@ -111,7 +210,7 @@ public class BookingService {
     }
 
     private void getExceptionIfUserIsNotOwner(Long userId, Booking booking) {
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
+        if (!booking.getOwnerId().equals(userId)) {
             log.warn("User id={} for booking id={} is not owner", userId, booking.getId());
             throw new NotFoundException("Booking id=" + booking.getId() + " not found");
         }
@@ -124,26 +223,53 @@ public class BookingService {
         }
     }
 
+    private void getExceptionIfItemIsBooked(Item item, BookingDtoCreate bookingDtoCreate) {
+        if (bookingOverlapCheck.overlaps(item.getId(), bookingDtoCreate.getStart(), bookingDtoCreate.getEnd())) {
+            log.warn("Item id={} is already booked between {} and {}", item.getId(), bookingDtoCreate.getStart(),
+                    bookingDtoCreate.getEnd());
+            throw new ConflictException("Item id=" + item.getId() + " is already booked for this period");
+        }
+    }
+
+    private Booking saveIfNotOverlapping(Booking booking) {
+        try {
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            String errorMessage = e.getMostSpecificCause().getMessage();
+            if (errorMessage != null && errorMessage.contains(OVERLAP_CONSTRAINT)) {
+                log.warn("Item id={} has been booked concurrently: {}", booking.getItem().getId(), errorMessage);
+                throw new ConflictException("Item id=" + booking.getItem().getId() +
+                        " is already booked for this period");
+            }
+            throw e;
+        }
+    }
+
+    private void publishChanged(Booking booking) {
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), booking.getItem().getId(),
+                booking.getOwnerId(), booking.getStart(), booking.getEnd(), booking.getStatus()));
+    }
+
     private Collection<Booking> getBookingsForOwner(BookingState state, Long userId, Pageable pageable) {
-        LocalDateTime current = LocalDateTime.now();
+        LocalDateTime current = timeService.current();
         switch (state) {
             case PAST:
-                return bookingRepository.findAllByItem_Owner_IdAndEndBefore(userId, current, pageable);
+                return bookingRepository.findAllByOwnerIdAndEndBefore(userId, current, pageable);
             case FUTURE:
-                return bookingRepository.findAllByItem_Owner_IdAndStartAfter(userId, current, pageable);
+                return bookingRepository.findAllByOwnerIdAndStartAfter(userId, current, pageable);
             case WAITING:
-                return bookingRepository.findAllByItem_Owner_IdAndStatus(userId, WAITING, pageable);
+                return bookingRepository.findAllByOwnerIdAndStatus(userId, WAITING, pageable);
             case REJECTED:
-                return bookingRepository.findAllByItem_Owner_IdAndStatus(userId, REJECTED, pageable);
+                return bookingRepository.findAllByOwnerIdAndStatus(userId, REJECTED, pageable);
             case CURRENT:
                 return bookingRepository
-                        .findAllByItem_Owner_IdAndStartBeforeAndEndAfter(userId, current, current, pageable);
+                        .findAllByOwnerIdAndStartBeforeAndEndAfter(userId, current, current, pageable);
         }
-        return bookingRepository.findAllByItem_Owner_Id(userId, pageable);
+        return bookingRepository.findAllByOwnerId(userId, pageable);
     }
 
     private Collection<Booking> getBookingsForBooker(BookingState state, Long userId, Pageable pageable) {
-        LocalDateTime current = LocalDateTime.now();
+        LocalDateTime current = timeService.current();
         switch (state) {
             case PAST:
                 return bookingRepository.findAllByBooker_IdAndEndBefore(userId, current, pageable);
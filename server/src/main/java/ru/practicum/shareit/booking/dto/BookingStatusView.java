@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+public interface BookingStatusView extends BookingPeriodView {
+    Long getItemId();
+
+    BookingStatus getStatus();
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingOverlapCheck {
+    String ENGINE = "shareit.booking.overlap-check";
+
+    boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    List<IntervalTree.Interval> occupied(Long itemId, LocalDateTime start, LocalDateTime end);
+}
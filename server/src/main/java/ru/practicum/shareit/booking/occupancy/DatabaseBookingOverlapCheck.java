@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = BookingOverlapCheck.ENGINE, havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseBookingOverlapCheck implements BookingOverlapCheck {
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItem_IdAndStatusInAndEndAfterAndStartBefore(itemId,
+                BookingStatus.OCCUPYING, start, end);
+    }
+
+    @Override
+    public List<IntervalTree.Interval> occupied(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.findPeriodsByItem_IdAndStatusInAndEndAfterAndStartBeforeOrderByStartAsc(itemId,
+                        BookingStatus.OCCUPYING, start, end).stream()
+                .map(period -> new IntervalTree.Interval(period.getId(), period.getStart(), period.getEnd()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = BookingOverlapCheck.ENGINE, havingValue = "memory")
+public class InMemoryBookingOverlapCheck implements BookingOverlapCheck {
+    private final OccupancyIndex occupancyIndex;
+    private final BookingOverlapCheck pastPeriods;
+
+    public InMemoryBookingOverlapCheck(OccupancyIndex occupancyIndex, BookingRepository bookingRepository) {
+        this.occupancyIndex = occupancyIndex;
+        this.pastPeriods = new DatabaseBookingOverlapCheck(bookingRepository);
+    }
+
+    @Override
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!occupancyIndex.covers(start)) {
+            return pastPeriods.overlaps(itemId, start, end);
+        }
+        return occupancyIndex.overlaps(itemId, start, end);
+    }
+
+    @Override
+    public List<IntervalTree.Interval> occupied(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!occupancyIndex.covers(start)) {
+            return pastPeriods.occupied(itemId, start, end);
+        }
+        return occupancyIndex.occupied(itemId, start, end);
+    }
+}
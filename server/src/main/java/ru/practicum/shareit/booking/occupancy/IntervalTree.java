@@ -0,0 +1,176 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class IntervalTree {
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private Node root;
+
+    public synchronized void put(Long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        nodes.put(id, node);
+    }
+
+    public synchronized boolean remove(Long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    public synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(root, start, end);
+    }
+
+    public synchronized List<Interval> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Interval> intervals = new ArrayList<>();
+        collect(root, start, end, intervals);
+        return intervals;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    private static boolean overlaps(Node node, LocalDateTime start, LocalDateTime end) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return false;
+        }
+        if (node.start.isBefore(end) && node.end.isAfter(start)) {
+            return true;
+        }
+        return overlaps(node.left, start, end) || node.start.isBefore(end) && overlaps(node.right, start, end);
+    }
+
+    private static void collect(Node node, LocalDateTime start, LocalDateTime end, List<Interval> intervals) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collect(node.left, start, end, intervals);
+        if (node.start.isBefore(end)) {
+            if (node.end.isAfter(start)) {
+                intervals.add(new Interval(node.id, node.start, node.end));
+            }
+            collect(node.right, start, end, intervals);
+        }
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == null) {
+            return null;
+        }
+        if (node != deleted) {
+            if (compare(deleted, node) < 0) {
+                node.left = delete(node.left, deleted);
+            } else {
+                node.right = delete(node.right, deleted);
+            }
+            return update(node);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, deleted);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, deleted);
+        }
+        return update(node);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static int compare(Node first, Node second) {
+        int byStart = first.start.compareTo(second.start);
+        return byStart != 0 ? byStart : first.id.compareTo(second.id);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Interval {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+
+    private static class Node {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Long id, LocalDateTime start, LocalDateTime end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+}
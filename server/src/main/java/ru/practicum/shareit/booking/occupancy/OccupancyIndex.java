@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.datasource.PrimaryReads;
+import ru.practicum.shareit.time.TimeService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = BookingOverlapCheck.ENGINE, havingValue = "memory")
+@Slf4j
+public class OccupancyIndex {
+    private final BookingRepository bookingRepository;
+    private final PrimaryReads primaryReads;
+    private final TimeService timeService;
+    private final LoadingCache<Long, IntervalTree> items;
+
+    public OccupancyIndex(BookingRepository bookingRepository, PrimaryReads primaryReads, TimeService timeService,
+                          @Value("${shareit.occupancy.max-items:10000}") long maxItems,
+                          @Value("${shareit.occupancy.refresh-after-write:1m}") Duration refreshAfterWrite,
+                          @Value("${shareit.occupancy.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.bookingRepository = bookingRepository;
+        this.primaryReads = primaryReads;
+        this.timeService = timeService;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .build(this::load);
+    }
+
+    public boolean covers(LocalDateTime start) {
+        return !start.isBefore(timeService.current());
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return items.get(itemId).overlaps(start, end);
+    }
+
+    public List<IntervalTree.Interval> occupied(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return items.get(itemId).overlapping(start, end);
+    }
+
+    int indexed(Long itemId) {
+        return items.get(itemId).size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        items.asMap().computeIfPresent(event.getItemId(), (itemId, tree) -> {
+            if (BookingStatus.OCCUPYING.contains(event.getStatus())) {
+                tree.put(event.getId(), event.getStart(), event.getEnd());
+            } else {
+                tree.remove(event.getId());
+            }
+            return tree;
+        });
+    }
+
+    private IntervalTree load(Long itemId) {
+        IntervalTree tree = new IntervalTree();
+        LocalDateTime current = timeService.current();
+        List<BookingPeriodView> periods = primaryReads.load(() -> bookingRepository
+                .findPeriodsByItem_IdAndStatusInAndEndAfter(itemId, BookingStatus.OCCUPYING, current));
+        periods.forEach(period -> tree.put(period.getId(), period.getStart(), period.getEnd()));
+        log.info("Occupancy of item id={} has been loaded: {} bookings", itemId, periods.size());
+        return tree;
+    }
+}
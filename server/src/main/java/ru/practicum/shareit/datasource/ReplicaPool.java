@@ -0,0 +1,120 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.jdbc.DataSourcePoolMetrics;
+import org.springframework.boot.jdbc.metadata.HikariDataSourcePoolMetadata;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class ReplicaPool implements MeterBinder, AutoCloseable {
+    public static final String LAG_METRIC = "shareit.datasource.replica.lag";
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagMonitor;
+
+    public ReplicaPool(Map<String, HikariDataSource> dataSources, ReplicaProperties properties) {
+        this.replicas = dataSources.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        this.maxLag = properties.getMaxLag();
+        this.lagQuery = properties.getLagQuery();
+        checkLag();
+        long interval = properties.getLagCheckInterval().toMillis();
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder(LAG_METRIC, replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+            new DataSourcePoolMetrics(replica.dataSource,
+                    dataSource -> new HikariDataSourcePoolMetadata((HikariDataSource) dataSource),
+                    replica.name, Tags.empty()).bindTo(registry);
+        }
+    }
+
+    public Map<String, HikariDataSource> getDataSources() {
+        return replicas.stream().collect(Collectors.toMap(replica -> replica.name, replica -> replica.dataSource));
+    }
+
+    public Optional<String> nextAvailable() {
+        int size = replicas.size();
+        int first = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((first + i) % size);
+            if (replica.available) {
+                return Optional.of(replica.name);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                boolean available = lagSeconds * 1000 <= maxLag.toMillis();
+                if (available != replica.available) {
+                    log.warn("Replica {} is {} with lag={}s", replica.name, available ? "available" : "lagging",
+                            lagSeconds);
+                }
+                replica.lagSeconds = lagSeconds;
+                replica.available = available;
+            } catch (SQLException e) {
+                if (replica.available) {
+                    log.warn("Replica {} is unavailable: {}", replica.name, e.getMessage());
+                }
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
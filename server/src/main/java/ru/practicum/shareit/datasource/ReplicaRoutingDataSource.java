@@ -0,0 +1,65 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+    public static final String PRIMARY = "primary";
+    public static final String ROUTE_METRIC = "shareit.datasource.route";
+    public static final String FALLBACK_METRIC = "shareit.datasource.replica.fallback";
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+    private final ReplicaPool replicaPool;
+    private final Map<String, LongAdder> routes = new HashMap<>();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+        Map<Object, Object> targets = new HashMap<>(replicaPool.getDataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        targets.keySet().forEach(route -> routes.put((String) route, new LongAdder()));
+    }
+
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(true);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        routes.forEach((route, count) -> FunctionCounter.builder(ROUTE_METRIC, count, LongAdder::sum)
+                .tag("route", route)
+                .register(registry));
+        FunctionCounter.builder(FALLBACK_METRIC, fallbacks, LongAdder::sum).register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String route = PRIMARY;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_READS.get() == null) {
+            route = replicaPool.nextAvailable().orElse(PRIMARY);
+            if (PRIMARY.equals(route)) {
+                fallbacks.increment();
+            }
+        }
+        routes.get(route).increment();
+        return route;
+    }
+}
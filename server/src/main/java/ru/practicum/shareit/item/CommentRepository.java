@@ -1,12 +1,18 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItem_Id(Long itemId);
+    String WITH_AUTHOR = "SELECT c FROM Comment c JOIN FETCH c.user ";
 
-    List<Comment> findAllByItem_IdIn(List<Long> itemId);
+    @Query(WITH_AUTHOR + "WHERE c.item.id = :itemId")
+    List<Comment> findAllByItem_Id(@Param("itemId") Long itemId);
+
+    @Query(WITH_AUTHOR + "WHERE c.item.id IN :itemIds")
+    List<Comment> findAllByItem_IdIn(@Param("itemIds") List<Long> itemIds);
 }
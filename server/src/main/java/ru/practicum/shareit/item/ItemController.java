@@ -2,13 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -19,6 +29,7 @@ public class ItemController {
     private static final String PAGE_FROM = "0";
     private static final String PAGE_SIZE = "10";
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @GetMapping("/{itemId}")
     public ItemDtoInfo getItemById(@PathVariable Long itemId,
@@ -35,6 +46,15 @@ public class ItemController {
         return itemService.getAllItemUser(userId, from, size);
     }
 
+    @GetMapping(params = PageCursor.PARAM)
+    public ResponseEntity<List<ItemDtoInfo>> getAllItemUserByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                    @RequestParam String cursor,
+                                                                    @RequestParam(defaultValue = PAGE_SIZE)
+                                                                    Integer size) {
+        log.info("GET user request id={} for view items. Cursor={}, page size={}", userId, cursor, size);
+        return itemService.getAllItemUserByCursor(userId, cursor, size).toResponseEntity();
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemDto createItem(@RequestBody ItemDto itemDto,
@@ -43,6 +63,19 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ItemImportResultDto importItems(InputStream body,
+                                           @RequestHeader(USER_ID) Long userId) throws IOException {
+        log.info("POST user request id={} for import items", userId);
+        return itemImportService.importItems(body, userId);
+    }
+
+    @GetMapping("/import")
+    public ItemImportResultDto getImportProgress(@RequestHeader(USER_ID) Long userId) {
+        log.info("GET user request id={} for import progress", userId);
+        return itemImportService.getImportProgress(userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestBody ItemDto itemDto,
                               @PathVariable Long itemId,
@@ -59,6 +92,16 @@ public class ItemController {
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        log.info("GET request for availability of item id={} from={} to={}", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(@RequestBody CommentDto commentDto,
                                     @RequestHeader(USER_ID) Long userId,
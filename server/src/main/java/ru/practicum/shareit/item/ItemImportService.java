@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportService {
+    private static final int ERRORS_MAX = 100;
+    private final ItemRepository itemRepository;
+    private final ItemRequestService itemRequestService;
+    private final UserService userService;
+    private final ItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, ItemImportResultDto> running = new ConcurrentHashMap<>();
+    @Value("${shareit.item.import.batch-size:50}")
+    private int batchSize;
+
+    public ItemImportResultDto importItems(InputStream body, Long userId) throws IOException {
+        User owner = userService.findById(userId);
+        if (running.putIfAbsent(userId, new ItemImportResultDto(0L, 0L, 0L, false, List.of())) != null) {
+            log.warn("Import of items for user id={} is already running", userId);
+            throw new ConflictException("Import of items for user id=" + userId + " is already running");
+        }
+        try (MappingIterator<ItemDto> itemsDto = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            Map<Long, ItemRequest> requests = new HashMap<>();
+            List<Item> batch = new ArrayList<>(batchSize);
+            List<String> errors = new ArrayList<>();
+            long processed = 0;
+            long imported = 0;
+            long failed = 0;
+            while (true) {
+                ItemDto itemDto;
+                try {
+                    if (!itemsDto.hasNextValue()) {
+                        break;
+                    }
+                    processed++;
+                    itemDto = itemsDto.nextValue();
+                } catch (JsonParseException e) {
+                    failed++;
+                    addError(errors, processed, "malformed JSON, import stopped");
+                    break;
+                } catch (JsonMappingException e) {
+                    failed++;
+                    addError(errors, processed, e.getOriginalMessage());
+                    continue;
+                }
+                String error = getValidationError(itemDto);
+                if (error != null) {
+                    failed++;
+                    addError(errors, processed, error);
+                    continue;
+                }
+                ItemRequest itemRequest;
+                try {
+                    itemRequest = itemDto.getRequestId() == null ? null :
+                            requests.computeIfAbsent(itemDto.getRequestId(), itemRequestService::findById);
+                } catch (NotFoundException e) {
+                    failed++;
+                    addError(errors, processed, e.getMessage());
+                    continue;
+                }
+                itemDto.setId(null);
+                batch.add(itemMapper.toItem(itemDto, owner, itemRequest));
+                if (batch.size() == batchSize) {
+                    imported += saveBatch(batch);
+                    running.put(userId, getResult(processed, imported, failed, false, errors));
+                    log.info("Imported {} of {} items for user id={}", imported, processed, userId);
+                }
+            }
+            imported += saveBatch(batch);
+            ItemImportResultDto result = getResult(processed, imported, failed, true, errors);
+            log.info("Import of items for user id={} has been finished={}", userId, result);
+            return result;
+        } finally {
+            running.remove(userId);
+        }
+    }
+
+    public ItemImportResultDto getImportProgress(Long userId) {
+        ItemImportResultDto progress = running.get(userId);
+        if (progress == null) {
+            log.warn("Import of items for user id={} is not running", userId);
+            throw new NotFoundException("Import of items for user id=" + userId + " is not running");
+        }
+        return progress;
+    }
+
+    private int saveBatch(List<Item> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.saveAll(batch);
+            entityManager.flush();
+            entityManager.clear();
+            batch.forEach(this::publishSaved);
+        });
+        int saved = batch.size();
+        batch.clear();
+        return saved;
+    }
+
+    private String getValidationError(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Name of item can't be blank";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Description of item can't be blank";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Available of item can't be null";
+        }
+        return null;
+    }
+
+    private void addError(List<String> errors, long position, String message) {
+        if (errors.size() < ERRORS_MAX) {
+            errors.add("Item #" + position + ": " + message);
+        }
+    }
+
+    private ItemImportResultDto getResult(long processed, long imported, long failed, boolean finished,
+                                          List<String> errors) {
+        return new ItemImportResultDto(processed, imported, failed, finished, List.copyOf(errors));
+    }
+
+    private void publishSaved(Item item) {
+        eventPublisher.publishEvent(new ItemSavedEvent(item.getId(), item.getOwner().getId(), item.getName(),
+                item.getDescription(), item.getAvailable()));
+    }
+}
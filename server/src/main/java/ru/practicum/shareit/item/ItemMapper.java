@@ -7,6 +7,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoInfo;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemDtoOwnerView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
@@ -55,6 +56,18 @@ public interface ItemMapper {
     ItemDtoInfo toOneItemDtoInfoForOwner(Item item, BookingDtoInfo next, BookingDtoInfo last,
                                          List<CommentDto> comments);
 
+    default ItemDtoInfo toOneItemDtoInfoForOwner(ItemDtoOwnerView view, List<CommentDto> comments) {
+        if (view == null) {
+            return null;
+        }
+        BookingDtoInfo last = view.getLastBookingId() == null ? null : new BookingDtoInfo(view.getLastBookingId(),
+                view.getLastBookerId(), view.getLastStart(), view.getLastEnd(), view.getLastStatus(), view.getId());
+        BookingDtoInfo next = view.getNextBookingId() == null ? null : new BookingDtoInfo(view.getNextBookingId(),
+                view.getNextBookerId(), view.getNextStart(), view.getNextEnd(), view.getNextStatus(), view.getId());
+        return new ItemDtoInfo(view.getId(), view.getName(), view.getDescription(), view.getAvailable(),
+                last, next, comments);
+    }
+
     default Collection<ItemDto> toItemDtoCollection(Collection<Item> items) {
         if (items == null) {
             return new ArrayList<>();
@@ -2,16 +2,69 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDtoOwnerView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String PAGE_ITEMS = "SELECT i.item_id, i.name, i.description, i.available FROM items i " +
+            "WHERE i.user_id = :ownerId AND i.item_id > :afterId ORDER BY i.item_id LIMIT :limit OFFSET :offset";
+    String LAST_BOOKINGS = "SELECT b.booking_id, b.item_id, b.user_id, b.time_start, b.time_end, b.status, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.time_start DESC, b.booking_id DESC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (SELECT pi.item_id FROM (" + PAGE_ITEMS + ") pi) " +
+            "AND b.status = :status AND b.time_start <= :current";
+    String NEXT_BOOKINGS = "SELECT b.booking_id, b.item_id, b.user_id, b.time_start, b.time_end, b.status, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.time_start, b.booking_id) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (SELECT pi.item_id FROM (" + PAGE_ITEMS + ") pi) " +
+            "AND b.status = :status AND b.time_start >= :current";
+    String OWNER_DASHBOARD = "SELECT p.item_id AS id, p.name AS name, p.description AS description, " +
+            "p.available AS available, " +
+            "lb.booking_id AS lastBookingId, lb.user_id AS lastBookerId, lb.time_start AS lastStart, " +
+            "lb.time_end AS lastEnd, lb.status AS lastStatus, " +
+            "nb.booking_id AS nextBookingId, nb.user_id AS nextBookerId, nb.time_start AS nextStart, " +
+            "nb.time_end AS nextEnd, nb.status AS nextStatus " +
+            "FROM (" + PAGE_ITEMS + ") p " +
+            "LEFT JOIN (" + LAST_BOOKINGS + ") lb ON lb.item_id = p.item_id AND lb.rn = 1 " +
+            "LEFT JOIN (" + NEXT_BOOKINGS + ") nb ON nb.item_id = p.item_id AND nb.rn = 1 " +
+            "ORDER BY p.item_id";
+
     List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
-    boolean existsByIdAndOwner_Id(Long id, Long ownerId);
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN TRUE ELSE FALSE END FROM Item i " +
+            "WHERE i.id = :id AND i.owner.id = :ownerId")
+    boolean existsByIdAndOwner_Id(@Param("id") Long id, @Param("ownerId") Long ownerId);
 
     List<Item> findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(String text,
                                                                                                            String textDuplicate,
                                                                                                            Pageable pageable);
+
+    @Query(value = "SELECT i.* FROM items i " +
+            "WHERE i.available = TRUE " +
+            "AND (i.name ILIKE CONCAT('%', :pattern, '%') OR i.description ILIKE CONCAT('%', :pattern, '%')) " +
+            "ORDER BY ts_rank(to_tsvector('simple', i.name || ' ' || i.description), " +
+            "plainto_tsquery('simple', :text)) + similarity(i.name, :text) DESC, i.item_id", nativeQuery = true)
+    List<Item> searchAvailableRanked(@Param("text") String text, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = OWNER_DASHBOARD, nativeQuery = true)
+    List<ItemDtoOwnerView> findOwnerDashboardPage(@Param("ownerId") Long ownerId,
+                                                  @Param("afterId") Long afterId,
+                                                  @Param("current") LocalDateTime current,
+                                                  @Param("status") String status,
+                                                  @Param("limit") int limit,
+                                                  @Param("offset") long offset);
+
+    default List<ItemDtoOwnerView> findOwnerDashboard(Long ownerId, LocalDateTime current, String status,
+                                                      Pageable pageable) {
+        return findOwnerDashboardPage(ownerId, 0L, current, status, pageable.getPageSize(), pageable.getOffset());
+    }
+
+    default List<ItemDtoOwnerView> findOwnerDashboardAfter(Long ownerId, Long afterId, LocalDateTime current,
+                                                           String status, Pageable pageable) {
+        return findOwnerDashboardPage(ownerId, afterId, current, status, pageable.getPageSize(),
+                pageable.getOffset());
+    }
 }
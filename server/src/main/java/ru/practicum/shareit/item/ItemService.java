@@ -2,29 +2,40 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingItemService;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.occupancy.IntervalTree;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemDtoOwnerView;
+import ru.practicum.shareit.item.event.CommentCreatedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.time.TimeService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
@@ -35,7 +46,11 @@ import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 public class ItemService {
     public static final String NEXT = "next";
     public static final String LAST = "last";
+    private static final String ITEM_VIEW = "item:";
+    private static final String PAGE_VIEW = "page:";
+    private static final String CURSOR_VIEW = "cursor:";
     private final ItemRepository itemRepository;
+    private final ItemSearch itemSearch;
     private final CommentService commentService;
     private final BookingItemService bookingItemService;
     private final ItemRequestService itemRequestService;
@@ -43,34 +58,47 @@ public class ItemService {
     private final ItemMapper itemMapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final OwnerViewCache ownerViewCache;
+    private final TimeService timeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public ItemDtoInfo getItemDtoById(Long itemId, Long userId) {
+        if (itemRepository.existsByIdAndOwner_Id(itemId, userId)) {
+            return ownerViewCache.get(userId, ITEM_VIEW + itemId, List::of,
+                    () -> getItemDtoInfoForOwner(itemId, userId));
+        }
         Item item = getItemById(itemId, userId);
         List<Comment> comments = commentService.getAllByItem_Id(itemId);
-        Map<Long, List<CommentDto>> commentsItem = getCommentDtoSortByIdItem(comments);
-
-        boolean isOwner = itemRepository.existsByIdAndOwner_Id(itemId, userId);
-        if (!isOwner) {
-            List<CommentDto> commentDto = commentsItem.isEmpty() ? new ArrayList<>() : commentsItem.get(item.getId());
-            return itemMapper.toOneItemDtoInfoForAllUsers(item, commentDto);
-        }
-
-        log.info("Information about item id={} was obtained by user id={}", itemId, userId);
-        return setBookingsForOwner(List.of(item), List.of(itemId), commentsItem).stream().findFirst().orElse(null);
+        List<CommentDto> commentDto = getCommentDtoSortByIdItem(comments).getOrDefault(itemId, new ArrayList<>());
+        return itemMapper.toOneItemDtoInfoForAllUsers(item, commentDto);
     }
 
     @Transactional(readOnly = true)
     public Collection<ItemDtoInfo> getAllItemUser(Long userId, Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id")));
-        List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
-        List<Long> itemsId = items.stream().map(Item::getId).collect(Collectors.toList());
+        return ownerViewCache.get(userId, PAGE_VIEW + from + ":" + size, Function.identity(), () -> {
+            Pageable pageable = PageRequest.of(from / size, size);
+            List<ItemDtoOwnerView> items = itemRepository.findOwnerDashboard(userId, timeService.current(),
+                    APPROVED.name(), pageable);
 
-        List<Comment> comments = commentService.getCommentsByItemIdIn(itemsId);
-        Map<Long, List<CommentDto>> commentsItems = getCommentDtoSortByIdItem(comments);
+            log.info("All items have been received");
+            return toOwnerItemDtoInfo(items);
+        });
+    }
 
-        log.info("All items have been received");
-        return setBookingsForOwner(items, itemsId, commentsItems);
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDtoInfo> getAllItemUserByCursor(Long userId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return ownerViewCache.get(userId, CURSOR_VIEW + cursor + ":" + size, CursorPage::getContent, () -> {
+            List<ItemDtoOwnerView> items = itemRepository.findOwnerDashboardAfter(userId,
+                    after == null ? 0L : after.getId(), timeService.current(), APPROVED.name(),
+                    PageRequest.of(0, size + 1));
+            CursorPage<ItemDtoOwnerView> page = CursorPage.of(items, size, item -> PageCursor.of(item.getId()),
+                    Function.identity());
+
+            log.info("Items after cursor={} have been received", cursor);
+            return new CursorPage<>(toOwnerItemDtoInfo(page.getContent()), page.getNextCursor());
+        });
     }
 
     @Transactional
@@ -80,6 +108,7 @@ public class ItemService {
                 itemRequestService.findById(itemDto.getRequestId());
 
         Item item = itemRepository.save(itemMapper.toItem(itemDto, user, itemRequest));
+        publishSaved(item);
         log.info("Item has been created={}", item);
         return itemMapper.toItemDto(item);
     }
@@ -95,6 +124,7 @@ public class ItemService {
 
         setItemDto(itemOld, itemDtoNew, user);
         Item item = itemRepository.save(itemOld);
+        publishSaved(item);
         log.info("Item has been updated={}", item);
         return itemMapper.toItemDto(item);
     }
@@ -104,14 +134,48 @@ public class ItemService {
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id")));
-        Collection<Item> items = itemRepository
-                .findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(
-                        text, text, pageable);
+        Pageable pageable = PageRequest.of(from / size, size);
+        Collection<Item> items = itemSearch.search(text, pageable);
         log.info("Items={} by text={} received", items, text);
         return itemMapper.toItemDtoCollection(items);
     }
 
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            log.warn("Availability window from={} is not before to={}", from, to);
+            throw new ValidationException("Availability window start must be before its end");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            log.warn("Item with this id={} not found", itemId);
+            throw new NotFoundException("Item with this id=" + itemId + " not found");
+        }
+        List<IntervalTree.Interval> intervals = bookingItemService.getOccupiedIntervals(itemId, from, to);
+        List<AvailabilityIntervalDto> occupied = new ArrayList<>();
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (IntervalTree.Interval interval : intervals) {
+            LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+            LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+            if (start.isAfter(freeFrom)) {
+                free.add(new AvailabilityIntervalDto(freeFrom, start));
+                occupied.add(new AvailabilityIntervalDto(start, end));
+            } else if (occupied.isEmpty()) {
+                occupied.add(new AvailabilityIntervalDto(start, end));
+            } else if (end.isAfter(freeFrom)) {
+                occupied.get(occupied.size() - 1).setEnd(end);
+            }
+            if (end.isAfter(freeFrom)) {
+                freeFrom = end;
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new AvailabilityIntervalDto(freeFrom, to));
+        }
+        log.info("Availability of item id={} from={} to={} received", itemId, from, to);
+        return new ItemAvailabilityDto(itemId, from, to, occupied, free);
+    }
+
     public Item findById(Long itemId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> {
             log.warn("Item with this id={} not found for user", itemId);
@@ -120,6 +184,7 @@ public class ItemService {
         return item;
     }
 
+    @Transactional
     public CommentDto createComment(CommentDto commentDto, Long userId, Long itemId) {
         User user = getUserIfTheExists(userId);
         Item item = itemRepository.findById(itemId).orElseThrow(() -> {
@@ -127,14 +192,33 @@ public class ItemService {
             throw new ValidationException("Item doesn't exist yet");
         });
         getExceptionIfIsNotBookerOfThisItem(userId, itemId);
-        commentDto.setCreated(LocalDateTime.now());
+        commentDto.setCreated(timeService.now());
 
         Comment comment = commentMapper.toComment(commentDto, user, item);
         Comment commentSaved = commentService.saveComment(comment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(commentSaved.getId(), itemId, item.getOwner().getId()));
         log.info("Created comment id={} about item={} by user id={}", commentSaved.getId(), itemId, userId);
         return commentMapper.toCommentDto(commentSaved);
     }
 
+    private List<ItemDtoInfo> toOwnerItemDtoInfo(List<ItemDtoOwnerView> items) {
+        List<Long> itemsId = items.stream().map(ItemDtoOwnerView::getId).collect(Collectors.toList());
+        List<Comment> comments = itemsId.isEmpty() ? List.of() : commentService.getCommentsByItemIdIn(itemsId);
+        Map<Long, List<CommentDto>> commentsItems = getCommentDtoSortByIdItem(comments);
+        return items.stream()
+                .map(item -> itemMapper.toOneItemDtoInfoForOwner(item,
+                        commentsItems.getOrDefault(item.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private ItemDtoInfo getItemDtoInfoForOwner(Long itemId, Long userId) {
+        Item item = getItemById(itemId, userId);
+        Map<Long, List<CommentDto>> commentsItem = getCommentDtoSortByIdItem(commentService.getAllByItem_Id(itemId));
+
+        log.info("Information about item id={} was obtained by user id={}", itemId, userId);
+        return setBookingsForOwner(List.of(item), List.of(itemId), commentsItem).stream().findFirst().orElse(null);
+    }
+
     private Item getItemById(Long itemId, Long userId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> {
             log.warn("Item with this id={} not found for user id={}", itemId, userId);
@@ -160,14 +244,14 @@ public class ItemService {
 
     private Collection<ItemDtoInfo> setBookingsForOwner(List<Item> items, List<Long> itemsId,
                                                         Map<Long, List<CommentDto>> commentsItem) {
-        LocalDateTime current = LocalDateTime.now();
+        LocalDateTime current = timeService.current();
         List<Booking> nextBookings = bookingItemService.getNextBookingsForOwner(current, itemsId, APPROVED);
         List<Booking> lastBookings = bookingItemService.getLastBookingsForOwner(current, itemsId, APPROVED);
         return getItemDtoInfoForOwner(items, nextBookings, lastBookings, commentsItem);
     }
 
-    private Collection<ItemDtoInfo> getItemDtoInfoForOwner(List<Item> items, List<Booking> next, List<Booking> last,
-                                                           Map<Long, List<CommentDto>> commentsItem) {
+    Collection<ItemDtoInfo> getItemDtoInfoForOwner(List<Item> items, List<Booking> next, List<Booking> last,
+                                                   Map<Long, List<CommentDto>> commentsItem) {
         Map<String, Map<Long, BookingDtoInfo>> booking = getBookingDtoInfoMapByNextAndLast(next, last);
         Map<Long, BookingDtoInfo> nextBooking = booking.get(NEXT);
         Map<Long, BookingDtoInfo> lastBooking = booking.get(LAST);
@@ -208,7 +292,7 @@ public class ItemService {
         return result;
     }
 
-    private Map<Long, List<CommentDto>> getCommentDtoSortByIdItem(List<Comment> comments) {
+    Map<Long, List<CommentDto>> getCommentDtoSortByIdItem(List<Comment> comments) {
         List<CommentDto> allCommentDtoItems = commentMapper.toCommentDtoList(comments);
         Map<Long, List<CommentDto>> result = new HashMap<>();
         allCommentDtoItems.forEach(commentDto -> {
@@ -224,13 +308,18 @@ public class ItemService {
         return result;
     }
 
+    private void publishSaved(Item item) {
+        eventPublisher.publishEvent(new ItemSavedEvent(item.getId(), item.getOwner().getId(), item.getName(),
+                item.getDescription(), item.getAvailable()));
+    }
+
     private User getUserIfTheExists(Long userId) {
         return userService.findById(userId);
     }
 
     private void getExceptionIfIsNotBookerOfThisItem(Long userId, Long itemId) {
         boolean isValid = bookingItemService.isExistsByItemIdAndBookerIdAndStatusAndEndBefore(
-                itemId, userId, APPROVED, LocalDateTime.now());
+                itemId, userId, APPROVED, timeService.current());
         if (!isValid) {
             throw new ValidationException("Only users whose booking has expired can leave comments");
         }
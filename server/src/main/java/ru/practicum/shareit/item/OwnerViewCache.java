@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.datasource.PrimaryReads;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.event.CommentCreatedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.time.TimeService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class OwnerViewCache {
+    private static final int MAX_VIEWS_PER_OWNER = 64;
+
+    private final Cache cache;
+    private final TimeService timeService;
+    private final PrimaryReads primaryReads;
+    private final Duration ttl;
+
+    public OwnerViewCache(ObjectProvider<CacheManager> cacheManager, TimeService timeService,
+                          PrimaryReads primaryReads, @Value("${shareit.item.owner-view-ttl:1m}") Duration ttl) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        this.cache = manager == null ? null : manager.getCache(CacheConfig.OWNER_VIEWS);
+        this.timeService = timeService;
+        this.primaryReads = primaryReads;
+        this.ttl = ttl;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long ownerId, String view, Function<T, Collection<ItemDtoInfo>> items, Supplier<T> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        LocalDateTime current = timeService.current();
+        OwnerViews views = cache.get(ownerId, OwnerViews.class);
+        CachedView cached = views == null ? null : views.get(view);
+        if (cached != null && current.isBefore(cached.getValidUntil())) {
+            return (T) cached.getValue();
+        }
+        T value = primaryReads.load(loader);
+        if (value != null) {
+            cache.get(ownerId, OwnerViews::new)
+                    .put(view, new CachedView(value, getValidUntil(current, items.apply(value))));
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        evict(event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        evict(event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        evict(event.getOwnerId());
+    }
+
+    private void evict(Long ownerId) {
+        if (cache != null && cache.evictIfPresent(ownerId)) {
+            log.info("Cached views of owner id={} have been evicted", ownerId);
+        }
+    }
+
+    private LocalDateTime getValidUntil(LocalDateTime current, Collection<ItemDtoInfo> items) {
+        LocalDateTime validUntil = current.plus(ttl);
+        for (ItemDtoInfo item : items) {
+            BookingDtoInfo next = item.getNextBooking();
+            if (next != null && next.getStart().isBefore(validUntil)) {
+                validUntil = next.getStart();
+            }
+        }
+        return validUntil;
+    }
+
+    private static final class OwnerViews {
+        private final Map<String, CachedView> views = new ConcurrentHashMap<>();
+
+        private CachedView get(String view) {
+            return views.get(view);
+        }
+
+        private void put(String view, CachedView cached) {
+            if (views.size() >= MAX_VIEWS_PER_OWNER) {
+                views.clear();
+            }
+            views.put(view, cached);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class CachedView {
+        private final Object value;
+        private final LocalDateTime validUntil;
+    }
+}
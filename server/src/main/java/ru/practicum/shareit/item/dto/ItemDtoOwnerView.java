@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public interface ItemDtoOwnerView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    LocalDateTime getLastStart();
+
+    LocalDateTime getLastEnd();
+
+    BookingStatus getLastStatus();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+
+    LocalDateTime getNextStart();
+
+    LocalDateTime getNextEnd();
+
+    BookingStatus getNextStatus();
+}
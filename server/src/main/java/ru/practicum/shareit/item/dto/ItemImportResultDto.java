@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class ItemImportResultDto {
+    private Long processed;
+    private Long imported;
+    private Long failed;
+    private Boolean finished;
+    private List<String> errors;
+}
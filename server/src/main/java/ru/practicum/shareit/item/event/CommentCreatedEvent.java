@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class CommentCreatedEvent {
+    private final Long id;
+    private final Long itemId;
+    private final Long ownerId;
+}
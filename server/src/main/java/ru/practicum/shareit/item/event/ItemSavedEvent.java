@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ItemSavedEvent {
+    private final Long id;
+    private final Long ownerId;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = ItemSearch.ENGINE, havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearch implements ItemSearch {
+    private static final int REBUILD_BATCH = 1000;
+
+    private final ItemRepository itemRepository;
+    private final TrigramIndex index = new TrigramIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        Pageable pageable = PageRequest.of(0, REBUILD_BATCH, Sort.by("id"));
+        Page<Item> page;
+        do {
+            page = itemRepository.findAll(pageable);
+            page.forEach(this::put);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+        log.info("Search index has been built for {} items", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index.put(event.getId(), event.getName(), event.getDescription(), Boolean.TRUE.equals(event.getAvailable()));
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        while (true) {
+            List<Long> ids = index.search(text, pageable.getOffset(), pageable.getPageSize());
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            if (items.size() == ids.size()) {
+                return ids.stream().map(items::get).collect(Collectors.toList());
+            }
+            ids.stream().filter(id -> !items.containsKey(id)).forEach(index::remove);
+            log.info("Removed {} deleted items from the search index", ids.size() - items.size());
+        }
+    }
+
+    private void put(Item item) {
+        index.put(item.getId(), item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()));
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+class TrigramIndex {
+    private static final int GRAM = 3;
+    private static final int NAME_MATCH = 4;
+    private static final int NAME_PREFIX = 2;
+    private static final int DESCRIPTION_MATCH = 1;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    synchronized void put(Long id, String name, String description, boolean available) {
+        remove(id);
+        if (!available) {
+            return;
+        }
+        Document document = new Document(id, lower(name), lower(description));
+        documents.put(id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        documents.clear();
+        postings.clear();
+    }
+
+    synchronized int size() {
+        return documents.size();
+    }
+
+    synchronized List<Long> search(String text, long offset, int limit) {
+        String query = lower(text);
+        return candidates(query).stream()
+                .map(documents::get)
+                .filter(document -> document.matches(query))
+                .sorted(Comparator.comparingInt((Document document) -> document.score(query)).reversed()
+                        .thenComparing(Document::getId))
+                .skip(offset)
+                .limit(limit)
+                .map(Document::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Document {
+        private final Long id;
+        private final String name;
+        private final String description;
+
+        private Document(Long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+
+        private Long getId() {
+            return id;
+        }
+
+        private Set<String> grams() {
+            Set<String> result = TrigramIndex.grams(name);
+            result.addAll(TrigramIndex.grams(description));
+            return result;
+        }
+
+        private boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private int score(String query) {
+            int score = 0;
+            if (name.contains(query)) {
+                score += NAME_MATCH;
+            }
+            if (name.startsWith(query)) {
+                score += NAME_PREFIX;
+            }
+            if (description.contains(query)) {
+                score += DESCRIPTION_MATCH;
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.BookingState;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodMetricsAspect {
+    public static final String METHOD_TIMER = "shareit.method";
+    public static final String REPOSITORY_ROWS = "shareit.repository.rows";
+    static final String NONE = "none";
+    private static final String SERVICE = "service";
+    private static final String REPOSITORY = "repository";
+
+    private final MeterRegistry registry;
+    private final QueryCounter queryCounter;
+
+    @Around("within(ru.practicum.shareit..*) && @within(org.springframework.stereotype.Service) " +
+            "&& !within(ru.practicum.shareit.time..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE, ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName());
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object repository = joinPoint.getThis();
+        String name = repository instanceof Repository
+                ? AopProxyUtils.proxiedUserInterfaces(repository)[0].getSimpleName()
+                : ClassUtils.getUserClass(repository).getSimpleName();
+        if (!queryCounter.isCountingRows()) {
+            return time(joinPoint, REPOSITORY, name);
+        }
+        long fetchedBefore = queryCounter.getFetchedRows();
+        try {
+            return time(joinPoint, REPOSITORY, name);
+        } finally {
+            registry.summary(REPOSITORY_ROWS, "class", name, "method", joinPoint.getSignature().getName())
+                    .record(queryCounter.getFetchedRows() - fetchedBefore);
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer, String owner) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(registry.timer(METHOD_TIMER,
+                    "layer", layer,
+                    "class", owner,
+                    "method", joinPoint.getSignature().getName(),
+                    "state", state(joinPoint.getArgs()),
+                    "exception", exception));
+        }
+    }
+
+    private static String state(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return ((BookingState) arg).name();
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig {
+    public static final String JDBC_ROWS = "shareit.metrics.jdbc-rows.enabled";
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    @ConditionalOnProperty(name = JDBC_ROWS, havingValue = "true")
+    public static BeanPostProcessor rowCountingDataSourcePostProcessor(ObjectProvider<QueryCounter> queryCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && DATA_SOURCE.equals(beanName)) {
+                    QueryCounter counter = queryCounter.getObject();
+                    counter.startCountingRows();
+                    return RowCountingProxy.wrap((DataSource) bean, counter);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> {
+            StatementInspector configured = toInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, configured == null ? queryCounter
+                    : (StatementInspector) sql -> queryCounter.inspect(configured.inspect(sql)));
+        };
+    }
+
+    @Bean
+    public RequestMetricsFilter requestMetricsFilter(MeterRegistry registry, QueryCounter queryCounter,
+                                                     QueryBudgetProperties budgets) {
+        return new RequestMetricsFilter(registry, queryCounter, budgets);
+    }
+
+    private static StatementInspector toInspector(Object setting) {
+        if (setting == null || setting instanceof StatementInspector) {
+            return (StatementInspector) setting;
+        }
+        Class<?> type = setting instanceof Class ? (Class<?>) setting
+                : ClassUtils.resolveClassName(setting.toString(), MetricsConfig.class.getClassLoader());
+        return (StatementInspector) BeanUtils.instantiateClass(type);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql")
+public class QueryBudgetProperties {
+    private int statementBudget = 10;
+    private int repeatThreshold = 3;
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String method;
+        private String uri;
+        private Integer statementBudget;
+        private Integer repeatThreshold;
+        private boolean excluded;
+
+        boolean matches(String method, String uri) {
+            return this.method.equalsIgnoreCase(method) && this.uri.equals(uri);
+        }
+    }
+}
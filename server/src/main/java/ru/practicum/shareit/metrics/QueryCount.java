@@ -0,0 +1,28 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+public class QueryCount {
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long rows;
+
+    void addStatement(String sql) {
+        statements++;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    void addRows(long count) {
+        rows += count;
+    }
+
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executions.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
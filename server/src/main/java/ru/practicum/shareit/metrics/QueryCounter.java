@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+@Component
+public class QueryCounter implements StatementInspector {
+    private final ThreadLocal<QueryCount> current = new ThreadLocal<>();
+    private final ThreadLocal<long[]> fetchedRows = ThreadLocal.withInitial(() -> new long[1]);
+    private volatile boolean countingRows;
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount count = current.get();
+        if (count != null) {
+            count.addStatement(sql);
+        }
+        return sql;
+    }
+
+    public void start() {
+        current.set(new QueryCount());
+    }
+
+    public QueryCount stop() {
+        QueryCount count = current.get();
+        current.remove();
+        return count != null ? count : new QueryCount();
+    }
+
+    public boolean isCountingRows() {
+        return countingRows;
+    }
+
+    public long getFetchedRows() {
+        return fetchedRows.get()[0];
+    }
+
+    void startCountingRows() {
+        countingRows = true;
+    }
+
+    void addRow() {
+        fetchedRows.get()[0]++;
+        QueryCount count = current.get();
+        if (count != null) {
+            count.addRows(1);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.BookingState;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    public static final String REQUEST_STATEMENTS = "shareit.request.statements";
+    public static final String REQUEST_ROWS = "shareit.request.rows";
+    public static final String QUERY_VIOLATIONS = "shareit.request.query.violations";
+    public static final String STATEMENT_BUDGET = "statement-budget";
+    public static final String REPEATED_STATEMENT = "repeated-statement";
+    private static final String STATE_PARAM = "state";
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final QueryCounter queryCounter;
+    private final QueryBudgetProperties budgets;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        queryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCount count = queryCounter.stop();
+            String uri = uri(request);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri, "state", state(request));
+            registry.summary(REQUEST_STATEMENTS, tags).record(count.getStatements());
+            if (queryCounter.isCountingRows()) {
+                registry.summary(REQUEST_ROWS, tags).record(count.getRows());
+            }
+            checkBudget(request.getMethod(), uri, count);
+        }
+    }
+
+    private void checkBudget(String method, String uri, QueryCount count) {
+        QueryBudgetProperties.Endpoint endpoint = budgets.getEndpoints().stream()
+                .filter(e -> e.matches(method, uri))
+                .findFirst()
+                .orElse(null);
+        if (endpoint != null && endpoint.isExcluded()) {
+            return;
+        }
+        int statementBudget = endpoint != null && endpoint.getStatementBudget() != null
+                ? endpoint.getStatementBudget() : budgets.getStatementBudget();
+        int repeatThreshold = endpoint != null && endpoint.getRepeatThreshold() != null
+                ? endpoint.getRepeatThreshold() : budgets.getRepeatThreshold();
+        if (count.getStatements() > statementBudget) {
+            log.warn("{} {} executed {} statements, budget is {}", method, uri, count.getStatements(),
+                    statementBudget);
+            registry.counter(QUERY_VIOLATIONS, "method", method, "uri", uri, "reason", STATEMENT_BUDGET)
+                    .increment();
+        }
+        Map.Entry<String, Integer> repeated = count.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("{} {} executed the same statement {} times, possible N+1: {}", method, uri,
+                    repeated.getValue(), repeated.getKey());
+            registry.counter(QUERY_VIOLATIONS, "method", method, "uri", uri, "reason", REPEATED_STATEMENT)
+                    .increment();
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+
+    private static String state(HttpServletRequest request) {
+        String state = request.getParameter(STATE_PARAM);
+        if (state == null) {
+            return MethodMetricsAspect.NONE;
+        }
+        return Arrays.stream(BookingState.values())
+                .map(BookingState::name)
+                .filter(state::equals)
+                .findFirst()
+                .orElse(UNKNOWN);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.metrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+final class RowCountingProxy implements InvocationHandler {
+    private static final String NEXT = "next";
+    private final Object target;
+    private final QueryCounter queryCounter;
+
+    private RowCountingProxy(Object target, QueryCounter queryCounter) {
+        this.target = target;
+        this.queryCounter = queryCounter;
+    }
+
+    static DataSource wrap(DataSource dataSource, QueryCounter queryCounter) {
+        return wrap(dataSource, DataSource.class, queryCounter);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        if (target instanceof ResultSet) {
+            if (NEXT.equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                queryCounter.addRow();
+            }
+            return result;
+        }
+        if (result instanceof ResultSet) {
+            return wrap((ResultSet) result, ResultSet.class, queryCounter);
+        }
+        if (result instanceof CallableStatement) {
+            return wrap((CallableStatement) result, CallableStatement.class, queryCounter);
+        }
+        if (result instanceof PreparedStatement) {
+            return wrap((PreparedStatement) result, PreparedStatement.class, queryCounter);
+        }
+        if (result instanceof Statement) {
+            return wrap((Statement) result, Statement.class, queryCounter);
+        }
+        if (result instanceof Connection && target instanceof DataSource) {
+            return wrap((Connection) result, Connection.class, queryCounter);
+        }
+        return result;
+    }
+
+    private static <T> T wrap(T target, Class<T> type, QueryCounter queryCounter) {
+        return type.cast(Proxy.newProxyInstance(RowCountingProxy.class.getClassLoader(), new Class<?>[]{type},
+                new RowCountingProxy(target, queryCounter)));
+    }
+}
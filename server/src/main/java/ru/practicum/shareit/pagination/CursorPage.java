@@ -0,0 +1,35 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, PageCursor> cursor,
+                                          Function<List<E>, ? extends Collection<T>> mapper) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(new ArrayList<>(mapper.apply(rows)), null);
+        }
+        List<E> page = rows.subList(0, size);
+        String next = cursor.apply(page.get(size - 1)).encode();
+        return new CursorPage<>(new ArrayList<>(mapper.apply(page)), next);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(PageCursor.HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
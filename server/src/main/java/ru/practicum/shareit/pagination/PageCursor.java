@@ -0,0 +1,61 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public class PageCursor {
+    public static final String PARAM = "cursor";
+    public static final String HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime position;
+    private final Long id;
+
+    public static PageCursor of(LocalDateTime position, Long id) {
+        return new PageCursor(position, id);
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            String position = value.substring(0, separator);
+            Long id = Long.valueOf(value.substring(separator + 1));
+            return new PageCursor(position.isEmpty() ? null : LocalDateTime.parse(position), id);
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor " + token);
+        }
+    }
+
+    public static PageCursor decodePositioned(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null && cursor.getPosition() == null) {
+            throw new ValidationException("Invalid cursor " + token);
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String value = (position == null ? "" : position.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -21,7 +21,7 @@ public class ItemRequest {
     @Column(name = "request_id")
     private Long id;
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
     @ToString.Exclude
     private User requester;
@@ -3,7 +3,9 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
 
@@ -43,6 +45,15 @@ public class ItemRequestController {
         return itemRequestService.getItemRequestsPageByPage(from, size, userId);
     }
 
+    @GetMapping(value = "/all", params = PageCursor.PARAM)
+    public ResponseEntity<List<ItemRequestDtoInfo>> getItemRequestsByCursor(@RequestParam String cursor,
+                                                                            @RequestParam(defaultValue = PAGE_SIZE)
+                                                                            Integer size,
+                                                                            @RequestHeader(USER_ID) Long userId) {
+        log.info("GET user request id={} for view all items requests. Cursor={}, page size={}", userId, cursor, size);
+        return itemRequestService.getItemRequestsByCursor(cursor, size, userId).toResponseEntity();
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDtoInfo getItemRequestById(@PathVariable Long requestId,
                                                  @RequestHeader(USER_ID) Long userId) {
@@ -2,11 +2,34 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequester_IdOrderByCreatedDesc(Long requesterId);
+    String WITH_ITEMS = "SELECT DISTINCT r FROM ItemRequest r LEFT JOIN FETCH r.items ";
+    String PASS_DISTINCT_THROUGH = "hibernate.query.passDistinctThrough";
 
-    List<ItemRequest> findAllByRequester_IdNot(Long requesterId, Pageable pageable);
+    @Query(WITH_ITEMS + "WHERE r.requester.id = :requesterId ORDER BY r.created DESC")
+    @QueryHints(@QueryHint(name = PASS_DISTINCT_THROUGH, value = "false"))
+    List<ItemRequest> findAllByRequester_IdOrderByCreatedDesc(@Param("requesterId") Long requesterId);
+
+    @Query(WITH_ITEMS + "WHERE r.id IN :ids")
+    @QueryHints(@QueryHint(name = PASS_DISTINCT_THROUGH, value = "false"))
+    List<ItemRequest> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.requester.id <> :requesterId")
+    List<Long> findIdsByRequester_IdNot(@Param("requesterId") Long requesterId, Pageable pageable);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.requester.id <> :requesterId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id))")
+    List<Long> findIdsByRequester_IdNotAfter(@Param("requesterId") Long requesterId,
+                                             @Param("created") LocalDateTime created,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 }
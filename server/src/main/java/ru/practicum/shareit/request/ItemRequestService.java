@@ -8,13 +8,18 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
+import ru.practicum.shareit.time.TimeService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,11 +28,12 @@ public class ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
     private final ItemRequestMapper itemRequestMapper;
+    private final TimeService timeService;
 
     @Transactional
     public ItemRequestDtoInfo createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         User requester = getUserIfTheExists(userId);
-        ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemRequestDto, requester, LocalDateTime.now());
+        ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemRequestDto, requester, timeService.now());
         ItemRequest createdItemRequest = itemRequestRepository.save(itemRequest);
 
         log.info("Request id={} created by user id={}", createdItemRequest.getId(), userId);
@@ -36,7 +42,7 @@ public class ItemRequestService {
 
     @Transactional(readOnly = true)
     public List<ItemRequestDtoInfo> getListOfRequestsForItemsUser(Long userId) {
-        getUserIfTheExists(userId);
+        userService.checkExists(userId);
         List<ItemRequest> allRequestsUser = itemRequestRepository.findAllByRequester_IdOrderByCreatedDesc(userId);
 
         log.info("List of requests for items was received by a user with id={}", userId);
@@ -45,17 +51,33 @@ public class ItemRequestService {
 
     @Transactional(readOnly = true)
     public List<ItemRequestDtoInfo> getItemRequestsPageByPage(Integer from, Integer size, Long userId) {
-        getUserIfTheExists(userId);
+        userService.checkExists(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("created")));
-        List<ItemRequest> requests = itemRequestRepository.findAllByRequester_IdNot(userId, pageable);
+        List<ItemRequest> requests = findWithItems(itemRequestRepository.findIdsByRequester_IdNot(userId, pageable));
 
         log.info("List of requests for items was received by a user with id={}", userId);
         return itemRequestMapper.toItemRequestDtoInfoList(requests);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDtoInfo> getItemRequestsByCursor(String cursor, Integer size, Long userId) {
+        userService.checkExists(userId);
+        PageCursor after = PageCursor.decodePositioned(cursor);
+        Pageable pageable = PageRequest.of(0, size + 1,
+                Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id")));
+        List<ItemRequest> requests = findWithItems(after == null
+                ? itemRequestRepository.findIdsByRequester_IdNot(userId, pageable)
+                : itemRequestRepository.findIdsByRequester_IdNotAfter(userId, after.getPosition(), after.getId(),
+                pageable));
+
+        log.info("List of requests for items after cursor={} was received by a user with id={}", cursor, userId);
+        return CursorPage.of(requests, size, request -> PageCursor.of(request.getCreated(), request.getId()),
+                itemRequestMapper::toItemRequestDtoInfoList);
+    }
+
     @Transactional(readOnly = true)
     public ItemRequestDtoInfo getItemRequestById(Long requestId, Long userId) {
-        getUserIfTheExists(userId);
+        userService.checkExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> {
             log.warn("Request id={} for user id={} not found", requestId, userId);
             throw new NotFoundException("Request id=" + requestId + " not found");
@@ -72,6 +94,15 @@ public class ItemRequestService {
         });
     }
 
+    private List<ItemRequest> findWithItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        return ids.stream().map(requests::get).collect(Collectors.toList());
+    }
+
     private User getUserIfTheExists(Long userId) {
         return userService.findById(userId);
     }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.time;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+public class TimeService {
+    private final Clock clock;
+    private final long granularity;
+
+    public TimeService(Clock clock, @Value("${shareit.time.current-granularity:1s}") Duration granularity) {
+        if (granularity.isNegative()) {
+            throw new IllegalArgumentException("Granularity of current time must not be negative");
+        }
+        this.clock = clock;
+        this.granularity = granularity.toMillis();
+    }
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public LocalDateTime current() {
+        if (granularity == 0) {
+            return now();
+        }
+        long millis = clock.millis();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis - Math.floorMod(millis, granularity)),
+                clock.getZone());
+    }
+}
@@ -3,10 +3,13 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/users")
@@ -30,6 +33,13 @@ public class UserController {
         return userService.getAllUsers(from, size);
     }
 
+    @GetMapping(params = PageCursor.PARAM)
+    public ResponseEntity<List<UserDto>> getAllUserByCursor(@RequestParam String cursor,
+                                                            @RequestParam(defaultValue = PAGE_SIZE) Integer size) {
+        log.info("GET request for view users. Cursor={}, page size={}", cursor, size);
+        return userService.getAllUsersByCursor(cursor, size).toResponseEntity();
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto createUser(@RequestBody UserDto userDto) {
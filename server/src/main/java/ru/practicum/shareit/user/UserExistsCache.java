@@ -0,0 +1,40 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.datasource.PrimaryReads;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
+
+import java.util.function.Supplier;
+
+@Component
+public class UserExistsCache {
+    private final Cache cache;
+    private final UserRepository userRepository;
+    private final PrimaryReads primaryReads;
+
+    public UserExistsCache(ObjectProvider<CacheManager> cacheManager, UserRepository userRepository,
+                           PrimaryReads primaryReads) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        this.cache = manager == null ? null : manager.getCache(CacheConfig.USER_EXISTS);
+        this.userRepository = userRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    public boolean exists(Long userId) {
+        if (cache != null && cache.get(userId) != null) {
+            return true;
+        }
+        Supplier<Boolean> loader = () -> userRepository.existsById(userId);
+        boolean exists = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? primaryReads.load(loader) : ReplicaRoutingDataSource.readFromPrimary(loader);
+        if (exists && cache != null) {
+            cache.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+}
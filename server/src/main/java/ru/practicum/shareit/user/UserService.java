@@ -2,15 +2,22 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
@@ -22,13 +29,16 @@ import java.util.List;
 public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistsCache userExistsCache;
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto getUserById(Long userId) {
-        User user = userRepository.findById(userId).stream().findFirst().orElseThrow(() -> {
-            log.warn("User with id={} not found", userId);
-            throw new NotFoundException("User with id=" + userId + " not found");
-        });
+        User user = ReplicaRoutingDataSource.readFromPrimary(() -> userRepository.findById(userId))
+                .orElseThrow(() -> {
+                    log.warn("User with id={} not found", userId);
+                    throw new NotFoundException("User with id=" + userId + " not found");
+                });
 
         log.info("User was received by id={}", userId);
         return userMapper.toUserDto(user);
@@ -42,6 +52,15 @@ public class UserService {
         return userMapper.toUserDtoCollection(allUsers);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getAllUsersByCursor(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size + 1, Sort.by(Sort.Order.asc("id")));
+        List<User> users = userRepository.findAllByIdGreaterThan(after == null ? 0L : after.getId(), pageable);
+        log.info("Users after cursor={} have been received", cursor);
+        return CursorPage.of(users, size, user -> PageCursor.of(user.getId()), userMapper::toUserDtoCollection);
+    }
+
     @Transactional
     public UserDto createUser(UserDto userDto) {
         try {
@@ -60,6 +79,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto updateUser(Long userId, UserDto userDtoNew) {
         User userOld = userRepository.findById(userId).stream().findFirst().orElseThrow(() -> {
             log.warn("User with this id={} not already exists", userId);
@@ -73,16 +93,25 @@ public class UserService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId"),
+            @CacheEvict(cacheNames = CacheConfig.USER_EXISTS, key = "#userId")
+    })
     public void deleteUserById(Long userId) {
         log.info("User with id={} deleted", userId);
         userRepository.deleteById(userId);
     }
 
     public User findById(Long userId) {
-        return userRepository.findById(userId).stream().findFirst().orElseThrow(() -> {
+        checkExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    public void checkExists(Long userId) {
+        if (!userExistsCache.exists(userId)) {
             log.warn("User with id={} not found", userId);
             throw new NotFoundException("User with id=" + userId + " not found");
-        });
+        }
     }
 
     private void getExceptionIfEmailExistsAndItIsAlien(String emailNew, String emailOld) {
@@ -0,0 +1,3 @@
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
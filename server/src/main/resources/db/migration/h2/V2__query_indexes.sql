@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (user_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (user_id, created);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, time_start);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, time_end);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (user_id, time_start);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_item ON bookings (status, item_id, time_start);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
@@ -0,0 +1,6 @@
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE bookings
+    ADD CONSTRAINT fk_booking_to_owner FOREIGN KEY (owner_id) REFERENCES users (user_id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, time_start);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status ON bookings (owner_id, status, time_start);
@@ -0,0 +1,41 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE OR REPLACE FUNCTION reject_overlapping_bookings() RETURNS INTEGER AS
+$$
+DECLARE
+    candidate RECORD;
+    rejected  INTEGER := 0;
+BEGIN
+    FOR candidate IN
+        SELECT b.booking_id, b.item_id, b.time_start, b.time_end
+        FROM bookings b
+        WHERE b.status IN ('WAITING', 'APPROVED')
+          AND EXISTS(SELECT 1
+                     FROM bookings e
+                     WHERE e.item_id = b.item_id
+                       AND e.booking_id < b.booking_id
+                       AND e.status IN ('WAITING', 'APPROVED')
+                       AND tsrange(e.time_start, e.time_end) && tsrange(b.time_start, b.time_end))
+        ORDER BY b.booking_id
+        LOOP
+            UPDATE bookings
+            SET status = 'REJECTED'
+            WHERE booking_id = candidate.booking_id
+              AND EXISTS(SELECT 1
+                         FROM bookings e
+                         WHERE e.item_id = candidate.item_id
+                           AND e.booking_id < candidate.booking_id
+                           AND e.status IN ('WAITING', 'APPROVED')
+                           AND tsrange(e.time_start, e.time_end) && tsrange(candidate.time_start, candidate.time_end));
+            IF FOUND THEN
+                rejected := rejected + 1;
+            END IF;
+        END LOOP;
+    IF rejected > 0 THEN
+        RAISE NOTICE 'Rejected % bookings overlapping an earlier active booking of the same item', rejected;
+    END IF;
+    RETURN rejected;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT reject_overlapping_bookings();
@@ -0,0 +1,2 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_item_period ON bookings
+    USING gist (item_id, tsrange(time_start, time_end)) WHERE status IN ('WAITING', 'APPROVED');
@@ -0,0 +1 @@
+SELECT setval('items_seq', (SELECT COALESCE(MAX(item_id), 0) FROM items) + 50, false);
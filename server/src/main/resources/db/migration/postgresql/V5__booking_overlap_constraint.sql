@@ -0,0 +1,31 @@
+CREATE OR REPLACE FUNCTION check_booking_overlap() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM 1 FROM items WHERE item_id = NEW.item_id FOR NO KEY UPDATE;
+    IF EXISTS(SELECT 1
+              FROM bookings b
+              WHERE b.item_id = NEW.item_id
+                AND b.booking_id <> NEW.booking_id
+                AND b.status IN ('WAITING', 'APPROVED')
+                AND tsrange(b.time_start, b.time_end) && tsrange(NEW.time_start, NEW.time_end)) THEN
+        RAISE EXCEPTION USING
+            ERRCODE = 'exclusion_violation',
+            CONSTRAINT = 'excl_bookings_item_period',
+            MESSAGE = 'conflicting key value violates exclusion constraint "excl_bookings_item_period"',
+            DETAIL = format('Item %s is already booked between %s and %s', NEW.item_id, NEW.time_start,
+                            NEW.time_end);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER excl_bookings_item_period
+    BEFORE INSERT OR UPDATE OF item_id, time_start, time_end, status
+    ON bookings
+    FOR EACH ROW
+    WHEN (NEW.status IN ('WAITING', 'APPROVED'))
+EXECUTE PROCEDURE check_booking_overlap();
+
+SELECT reject_overlapping_bookings();
+
+DROP FUNCTION reject_overlapping_bookings();
@@ -0,0 +1,2 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, time_start);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_owner_status ON bookings (owner_id, status, time_start);
@@ -0,0 +1,4 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_name_trgm ON items USING gin (name gin_trgm_ops)
+    WHERE available = TRUE;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_description_trgm ON items USING gin (description gin_trgm_ops)
+    WHERE available = TRUE;
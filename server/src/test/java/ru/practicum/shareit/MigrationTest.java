@@ -0,0 +1,175 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:migration",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class MigrationTest {
+    private static final String VENDOR_SCRIPTS = "classpath:db/migration/postgresql/*.sql";
+    private static final String CONCURRENTLY = "CONCURRENTLY";
+    private static final String CREATE_INDEX = "CREATE INDEX";
+    private static final String COMMON = "classpath:db/migration/common";
+    private static final String H2 = "classpath:db/migration/h2";
+    private static final String POSTGRESQL = "classpath:db/migration/postgresql";
+    private static final String USERNAME = "test";
+    private static final String PASSWORD = "test";
+
+    private final Flyway flyway;
+
+    @DisplayName("Should apply all migrations on startup")
+    @Test
+    public void shouldApplyMigrations() {
+        assertThat(flyway.info().pending(), is(emptyArray()));
+        assertThat(flyway.info().current().getVersion().getVersion(), is(equalTo("6.2")));
+    }
+
+    @DisplayName("Should not reapply migrations on restart")
+    @Test
+    public void shouldNotReapplyMigrations() {
+        assertThat(flyway.migrate().migrationsExecuted, is(0));
+    }
+
+    @DisplayName("Should upgrade a database created by the legacy schema script")
+    @Test
+    public void shouldUpgradeLegacyDatabase() throws SQLException {
+        String url = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, USERNAME, PASSWORD).locations(COMMON, H2).target("1").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE \"flyway_schema_history\"");
+            statement.execute("INSERT INTO users (name, email) VALUES ('John', 'john@ya.ru'), ('Amy', 'amy@ya.ru')");
+            statement.execute("INSERT INTO items (name, description, available, user_id) " +
+                    "VALUES ('Drill', 'cordless drill', TRUE, 1)");
+            statement.execute("INSERT INTO bookings (time_start, time_end, item_id, user_id, status) " +
+                    "VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1, 2, 'APPROVED')");
+        }
+
+        Flyway.configure().dataSource(url, USERNAME, PASSWORD).locations(COMMON, H2)
+                .baselineOnMigrate(true).baselineVersion("0").load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement();
+             ResultSet owners = statement.executeQuery("SELECT owner_id FROM bookings")) {
+            assertThat(owners.next(), is(true));
+            assertThat(owners.getLong(1), is(1L));
+        }
+    }
+
+    @DisplayName("Should reject overlaps and enforce the booking owner when upgrading a legacy PostgreSQL database")
+    @EnabledIfEnvironmentVariable(named = PostgresQueryPlanTest.URL, matches = ".+")
+    @Test
+    public void shouldResolveOverlapsWhenUpgradingPostgres() throws SQLException {
+        String url = System.getenv(PostgresQueryPlanTest.URL);
+        String username = Objects.requireNonNullElse(System.getenv("SHAREIT_TEST_POSTGRES_USER"), USERNAME);
+        String password = Objects.requireNonNullElse(System.getenv("SHAREIT_TEST_POSTGRES_PASSWORD"), PASSWORD);
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA public CASCADE");
+            statement.execute("CREATE SCHEMA public");
+        }
+        Flyway.configure().dataSource(url, username, password).locations(COMMON, POSTGRESQL).target("1").load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE flyway_schema_history");
+            statement.execute("INSERT INTO users (name, email) VALUES ('John', 'john@ya.ru'), ('Amy', 'amy@ya.ru')");
+            statement.execute("INSERT INTO items (name, description, available, user_id) " +
+                    "VALUES ('Drill', 'cordless drill', TRUE, 1)");
+            statement.execute("INSERT INTO bookings (time_start, time_end, item_id, user_id, status) VALUES " +
+                    "('2030-01-01', '2030-01-03', 1, 2, 'APPROVED'), " +
+                    "('2030-01-02', '2030-01-04', 1, 2, 'WAITING'), " +
+                    "('2030-01-03', '2030-01-05', 1, 2, 'WAITING'), " +
+                    "('2030-01-01', '2030-01-05', 1, 2, 'REJECTED')");
+        }
+
+        Flyway.configure().dataSource(url, username, password).locations(COMMON, POSTGRESQL)
+                .baselineOnMigrate(true).baselineVersion("0").load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            try (ResultSet statuses = statement.executeQuery("SELECT status FROM bookings ORDER BY booking_id")) {
+                List<String> result = new ArrayList<>();
+                while (statuses.next()) {
+                    result.add(statuses.getString(1));
+                }
+                assertThat(result, contains("APPROVED", "REJECTED", "WAITING", "REJECTED"));
+            }
+            SQLException overlap = assertThrows(SQLException.class, () -> statement.execute(
+                    "INSERT INTO bookings (time_start, time_end, item_id, user_id, owner_id, status) " +
+                            "VALUES ('2030-01-02', '2030-01-03', 1, 2, 1, 'WAITING')"));
+            assertThat(overlap.getSQLState(), is("23P01"));
+            assertThat(overlap.getMessage(), containsString("excl_bookings_item_period"));
+            try (ResultSet owner = statement.executeQuery("SELECT a.attnotnull, c.convalidated " +
+                    "FROM pg_attribute a JOIN pg_constraint c ON c.conrelid = a.attrelid " +
+                    "WHERE a.attrelid = 'bookings'::regclass AND a.attname = 'owner_id' " +
+                    "AND c.conname = 'fk_booking_to_owner'")) {
+                assertThat(owner.next(), is(true));
+                assertThat(owner.getBoolean(1), is(true));
+                assertThat(owner.getBoolean(2), is(true));
+            }
+        }
+    }
+
+    @DisplayName("PostgreSQL scripts should not mix concurrent index builds with transactional statements")
+    @Test
+    public void shouldNotMixNonTransactionalStatements() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(VENDOR_SCRIPTS);
+        assertThat(scripts, is(not(emptyArray())));
+        for (Resource script : scripts) {
+            List<Boolean> concurrent = statements(script).stream()
+                    .map(statement -> statement.toUpperCase().contains(CONCURRENTLY))
+                    .distinct()
+                    .collect(Collectors.toList());
+            assertThat(script.getFilename() + " mixes transactional and non-transactional statements",
+                    concurrent, hasSize(1));
+        }
+    }
+
+    @DisplayName("PostgreSQL scripts should build indexes concurrently")
+    @Test
+    public void shouldBuildPostgresIndexesConcurrently() throws IOException {
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources(VENDOR_SCRIPTS)) {
+            for (String statement : statements(script)) {
+                if (statement.toUpperCase().startsWith(CREATE_INDEX)) {
+                    assertThat(script.getFilename() + " builds an index while blocking writes",
+                            statement.toUpperCase(), containsString(CONCURRENTLY));
+                }
+            }
+        }
+    }
+
+    private static List<String> statements(Resource script) throws IOException {
+        String sql = StreamUtils.copyToString(script.getInputStream(), StandardCharsets.UTF_8);
+        return Arrays.stream(sql.split(";"))
+                .map(String::trim)
+                .filter(statement -> !statement.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
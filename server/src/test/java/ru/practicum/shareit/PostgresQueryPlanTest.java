@@ -0,0 +1,95 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@EnabledIfEnvironmentVariable(named = PostgresQueryPlanTest.URL, matches = ".+")
+public class PostgresQueryPlanTest {
+    static final String URL = "SHAREIT_TEST_POSTGRES_URL";
+    private static final String USERNAME = Objects.requireNonNullElse(System.getenv("SHAREIT_TEST_POSTGRES_USER"),
+            "test");
+    private static final String PASSWORD = Objects.requireNonNullElse(
+            System.getenv("SHAREIT_TEST_POSTGRES_PASSWORD"), "test");
+    private static final String SEQ_SCAN = "Seq Scan";
+
+    @BeforeAll
+    public static void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(System.getenv(URL), USERNAME, PASSWORD)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE comments, bookings, items, requests, users RESTART IDENTITY CASCADE");
+            statement.execute("INSERT INTO users (name, email) " +
+                    "SELECT 'user' || g, 'user' || g || '@ya.ru' FROM generate_series(1, 1000) g");
+            statement.execute("INSERT INTO requests (description, user_id, created) " +
+                    "SELECT 'need ' || g, g % 1000 + 1, now() - g * interval '1 minute' " +
+                    "FROM generate_series(1, 2000) g");
+            statement.execute("INSERT INTO items (item_id, name, description, available, user_id) " +
+                    "SELECT g, 'item ' || g, 'description ' || g, g % 10 <> 0, (g - 1) / 10 + 1 " +
+                    "FROM generate_series(1, 10000) g");
+            statement.execute("INSERT INTO bookings (time_start, time_end, item_id, user_id, status, owner_id) " +
+                    "SELECT now() + ((g / 10000) * 2 - 20) * interval '1 day', " +
+                    "now() + ((g / 10000) * 2 - 19) * interval '1 day', " +
+                    "g % 10000 + 1, g * 7 % 1000 + 1, " +
+                    "(ARRAY['WAITING', 'APPROVED', 'APPROVED', 'REJECTED'])[g % 4 + 1], g % 10000 / 10 + 1 " +
+                    "FROM generate_series(0, 199999) g");
+            statement.execute("INSERT INTO comments (text, item_id, user_id, created) " +
+                    "SELECT 'comment ' || g, g % 10000 + 1, g % 1000 + 1, now() FROM generate_series(1, 20000) g");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @DisplayName("PostgreSQL should answer hot queries without sequential scans")
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM bookings WHERE owner_id = 1 ORDER BY time_start DESC LIMIT 10",
+            "SELECT * FROM bookings WHERE owner_id = 1 AND status = 'WAITING' ORDER BY time_start DESC LIMIT 10",
+            "SELECT * FROM bookings WHERE owner_id = 1 AND time_end < now() ORDER BY time_start DESC LIMIT 10",
+            "SELECT * FROM bookings WHERE owner_id = 1 AND time_start > now() ORDER BY time_start DESC LIMIT 10",
+            "SELECT * FROM bookings WHERE user_id = 2 ORDER BY time_start DESC LIMIT 10",
+            "SELECT * FROM bookings WHERE user_id = 2 AND time_start > now() ORDER BY time_start DESC LIMIT 10",
+            "SELECT 1 FROM bookings WHERE item_id = 5 AND status IN ('WAITING', 'APPROVED') " +
+                    "AND time_end > now() AND time_start < now() + interval '1 day' LIMIT 1",
+            "SELECT * FROM bookings WHERE item_id IN (1, 2, 3) AND status = 'APPROVED' AND time_start >= now()",
+            "SELECT * FROM items WHERE user_id = 1 ORDER BY item_id LIMIT 10",
+            "SELECT * FROM items WHERE available = TRUE AND name ILIKE '%item 4321%' LIMIT 10",
+            "SELECT * FROM comments WHERE item_id IN (1, 2, 3)",
+            "SELECT * FROM requests WHERE user_id = 1 ORDER BY created DESC"})
+    public void hotQueriesUseIndexes(String sql) throws SQLException {
+        assertThat(explain(sql), not(containsString(SEQ_SCAN)));
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append(System.lineSeparator());
+            }
+        }
+        return plan.toString();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(System.getenv(URL), USERNAME, PASSWORD);
+    }
+}
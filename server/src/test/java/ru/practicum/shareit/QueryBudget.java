@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.metrics.QueryCount;
+import ru.practicum.shareit.metrics.QueryCounter;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+public final class QueryBudget {
+    private QueryBudget() {
+    }
+
+    public static <T> T assertStatements(QueryCounter queryCounter, int budget, Supplier<T> action) {
+        queryCounter.start();
+        T result;
+        QueryCount count;
+        try {
+            result = action.get();
+        } finally {
+            count = queryCounter.stop();
+        }
+        if (count.getStatements() > budget) {
+            fail(String.format("Expected at most %d statements but %d were executed:%n%s", budget,
+                    count.getStatements(), count.getExecutions().entrySet().stream()
+                            .map(execution -> execution.getValue() + "x " + execution.getKey())
+                            .collect(Collectors.joining(System.lineSeparator()))));
+        }
+        return result;
+    }
+}
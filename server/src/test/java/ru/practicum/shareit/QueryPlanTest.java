@@ -0,0 +1,209 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.SqlCaptureInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final int USERS = 10;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    private final LocalDateTime current = LocalDateTime.now();
+    private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("start")));
+    private User user;
+    private Item item;
+    private List<Long> itemsId;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(new User(null, "user" + i, "user" + i + "@ya.ru")));
+        }
+        List<Item> items = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User owner = users.get(i);
+            User booker = users.get((i + 1) % USERS);
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "need" + i, booker,
+                    current.minusDays(i), null));
+            for (int j = 0; j < ITEMS_PER_USER; j++) {
+                Item saved = itemRepository.save(new Item(null, "item" + j, "description" + j, true, owner,
+                        j == 0 ? request : null));
+                items.add(saved);
+                for (int k = 0; k < BOOKINGS_PER_ITEM; k++) {
+                    LocalDateTime start = current.plusDays(k - BOOKINGS_PER_ITEM / 2);
+                    bookings.add(new Booking(null, start, start.plusHours(12), saved, booker,
+                            k % 2 == 0 ? APPROVED : WAITING, owner.getId()));
+                }
+                comments.add(new Comment(null, "comment" + j, current, saved, booker));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+
+        user = users.get(0);
+        item = items.get(0);
+        itemsId = List.of(items.get(0).getId(), items.get(1).getId());
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterEach
+    public void deleteAll() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE COMMENTS; " +
+                    "TRUNCATE TABLE BOOKINGS; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE REQUESTS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Booking queries should not scan the bookings table")
+    @Test
+    public void bookingQueriesUseIndexes() throws SQLException {
+        Long id = user.getId();
+        assertIndexed("findBookingByIdAndUser", () -> bookingRepository.findBookingByIdAndUser(1L, id));
+        assertIndexed("findAllByOwnerId", () -> bookingRepository.findAllByOwnerId(id, pageable));
+        assertIndexed("findAllByOwnerIdAndStatus", () -> bookingRepository
+                .findAllByOwnerIdAndStatus(id, WAITING, pageable));
+        assertIndexed("findAllByOwnerIdAndEndBefore", () -> bookingRepository
+                .findAllByOwnerIdAndEndBefore(id, current, pageable));
+        assertIndexed("findAllByOwnerIdAndStartAfter", () -> bookingRepository
+                .findAllByOwnerIdAndStartAfter(id, current, pageable));
+        assertIndexed("findAllByOwnerIdAndStartBeforeAndEndAfter", () -> bookingRepository
+                .findAllByOwnerIdAndStartBeforeAndEndAfter(id, current, current, pageable));
+        assertIndexed("findAllByBooker_Id", () -> bookingRepository.findAllByBooker_Id(id, pageable));
+        assertIndexed("findAllByBooker_IdAndStatus", () -> bookingRepository
+                .findAllByBooker_IdAndStatus(id, WAITING, pageable));
+        assertIndexed("findAllByBooker_IdAndEndBefore", () -> bookingRepository
+                .findAllByBooker_IdAndEndBefore(id, current, pageable));
+        assertIndexed("findAllByBooker_IdAndStartAfter", () -> bookingRepository
+                .findAllByBooker_IdAndStartAfter(id, current, pageable));
+        assertIndexed("findAllByBooker_IdAndStartBeforeAndEndAfter", () -> bookingRepository
+                .findAllByBooker_IdAndStartBeforeAndEndAfter(id, current, current, pageable));
+        assertIndexed("findNextBookingsForOwner", () -> bookingRepository
+                .findNextBookingsForOwner(current, itemsId, APPROVED));
+        assertIndexed("findLastBookingsForOwner", () -> bookingRepository
+                .findLastBookingsForOwner(current, itemsId, APPROVED));
+        assertIndexed("existsByItem_IdAndStatusInAndEndAfterAndStartBefore", () -> bookingRepository
+                .existsByItem_IdAndStatusInAndEndAfterAndStartBefore(item.getId(), BookingStatus.OCCUPYING, current,
+                        current.plusDays(1)));
+        assertIndexed("findPeriodsByItem_IdAndStatusInAndEndAfter", () -> bookingRepository
+                .findPeriodsByItem_IdAndStatusInAndEndAfter(item.getId(), BookingStatus.OCCUPYING, current));
+        assertIndexed("findStatusesForOwner", () -> bookingRepository
+                .findStatusesForOwner(List.of(1L, 2L, 3L), id));
+        assertIndexed("streamOwnerHistory", () -> bookingRepository
+                .streamOwnerHistory(id, BookingState.ALL, current, 100).close());
+        assertIndexed("streamBookerHistory", () -> bookingRepository
+                .streamBookerHistory(id, BookingState.PAST, current, 100).close());
+        assertIndexed("existsByItemIdAndBookerIdAndStatusAndEndBefore", () -> bookingRepository
+                .existsByItemIdAndBookerIdAndStatusAndEndBefore(item.getId(), id, APPROVED, current));
+    }
+
+    @DisplayName("Item and comment queries should not scan tables")
+    @Test
+    public void itemQueriesUseIndexes() throws SQLException {
+        Long id = user.getId();
+        assertIndexed("findAllByOwnerId", () -> itemRepository
+                .findAllByOwnerId(id, PageRequest.of(0, 10, Sort.by("id"))));
+        assertIndexed("existsByIdAndOwner_Id", () -> itemRepository.existsByIdAndOwner_Id(item.getId(), id));
+        assertIndexed("findOwnerDashboard", () -> itemRepository
+                .findOwnerDashboard(id, current, APPROVED.name(), PageRequest.of(0, 10)));
+        assertIndexed("findAllByItem_Id", () -> commentRepository.findAllByItem_Id(item.getId()));
+        assertIndexed("findAllByItem_IdIn", () -> commentRepository.findAllByItem_IdIn(itemsId));
+    }
+
+    @DisplayName("Request queries should not scan tables")
+    @Test
+    public void requestQueriesUseIndexes() throws SQLException {
+        Long id = user.getId();
+        assertIndexed("findAllByRequester_IdOrderByCreatedDesc", () -> itemRequestRepository
+                .findAllByRequester_IdOrderByCreatedDesc(id));
+        assertIndexed("findAllWithItemsByIdIn", () -> itemRequestRepository
+                .findAllWithItemsByIdIn(List.of(item.getRequest().getId())));
+    }
+
+    private void assertIndexed(String method, Runnable query) throws SQLException {
+        SqlCaptureInspector.drain();
+        query.run();
+        List<String> statements = SqlCaptureInspector.drain();
+        assertFalse(statements.isEmpty(), method + " did not execute any statement");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (plan.contains(TABLE_SCAN)) {
+                fail(method + " regressed to a table scan:\n" + plan);
+            }
+            assertTrue(plan.contains("/*"), method + " has no plan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
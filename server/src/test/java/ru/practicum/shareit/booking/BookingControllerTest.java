@@ -9,6 +9,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -19,11 +23,14 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.BookingStatus.WAITING;
@@ -38,6 +45,8 @@ public class BookingControllerTest {
     private MockMvc mvc;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private BookingExportService bookingExportService;
     @Autowired
     private ObjectMapper mapper;
 
@@ -106,6 +115,29 @@ public class BookingControllerTest {
         verify(bookingService).updateBooking(anyLong(), anyLong(), anyBoolean());
     }
 
+    @DisplayName("Should update bookings in bulk")
+    @Test
+    @SneakyThrows
+    public void shouldUpdateBookings() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+        List<BookingDecisionResultDto> results = List.of(new BookingDecisionResultDto(1L, APPROVED, null),
+                new BookingDecisionResultDto(2L, null, "Booking with id=2 not found"));
+
+        when(bookingService.updateBookings(2L, decisions)).thenReturn(results);
+
+        mvc.perform(patch("/bookings")
+                        .content(mapper.writeValueAsString(decisions))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value(String.valueOf(APPROVED)))
+                .andExpect(jsonPath("$[1].error").value("Booking with id=2 not found"));
+    }
+
     @DisplayName("Should get booking by ID to item owner or requester")
     @Test
     @SneakyThrows
@@ -188,6 +220,25 @@ public class BookingControllerTest {
         verify(bookingService).getAllBookingsOwner(anyLong(), any(), anyInt(), anyInt());
     }
 
+    @DisplayName("Should stream owner bookings as NDJSON")
+    @Test
+    @SneakyThrows
+    public void shouldExportBookingsOwner() {
+        String lines = "{\"id\":2}\n{\"id\":1}\n";
+        StreamingResponseBody body = out -> out.write(lines.getBytes(StandardCharsets.UTF_8));
+
+        when(bookingExportService.exportBookingsOwner(1L, BookingState.PAST)).thenReturn(body);
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export?state=PAST")
+                        .header(USER_ID, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(lines));
+    }
+
     private BookingDto getBookingDto() {
         return new BookingDto(
                 1L,
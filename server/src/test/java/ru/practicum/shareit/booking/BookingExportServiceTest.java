@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:test", "shareit.booking.export.fetch-size=2"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BookingExportServiceTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final LocalDateTime current = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        var connection = dataSource.getConnection();
+        var statement = connection.createStatement();
+
+        statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                "TRUNCATE TABLE BOOKINGS; " +
+                "TRUNCATE TABLE ITEMS; " +
+                "TRUNCATE TABLE USERS; " +
+                "SET REFERENTIAL_INTEGRITY TRUE;");
+        statement.close();
+        connection.close();
+    }
+
+    @DisplayName("Should export owner and booker history as NDJSON newest first")
+    @Test
+    public void shouldExportBookingHistory() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        UserDto booker = userService.createUser(new UserDto(null, "Amy", "amy@ya.ru"));
+        ItemDto item = itemService.createItem(new ItemDto(null, "Drill", "drill", true, null), owner.getId());
+        List<Long> bookingsId = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            BookingDto booking = bookingService.createBooking(new BookingDtoCreate(item.getId(),
+                    current.plusDays(i + 1), current.plusDays(i + 1).plusHours(1)), booker.getId());
+            bookingsId.add(0, booking.getId());
+        }
+        bookingService.updateBooking(owner.getId(), bookingsId.get(0), false);
+
+        List<JsonNode> ownerLines = export(bookingExportService.exportBookingsOwner(owner.getId(), BookingState.ALL));
+        List<JsonNode> rejected = export(bookingExportService.exportBookingsBooker(booker.getId(),
+                BookingState.REJECTED));
+
+        assertThat(ownerLines, hasSize(5));
+        assertThat(ownerLines.stream().map(line -> line.get("id").asLong()).collect(Collectors.toList()),
+                is(equalTo(bookingsId)));
+        assertThat(ownerLines.get(0).get("item").get("name").asText(), is(equalTo("Drill")));
+        assertThat(ownerLines.get(0).get("booker").get("email").asText(), is(equalTo("amy@ya.ru")));
+        assertThat(rejected, hasSize(1));
+        assertThat(rejected.get(0).get("id").asLong(), is(bookingsId.get(0)));
+        assertThat(export(bookingExportService.exportBookingsBooker(owner.getId(), BookingState.ALL)), is(empty()));
+    }
+
+    @DisplayName("Should not export bookings of unknown user")
+    @Test
+    public void shouldNotExportBookingsOfUnknownUser() {
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> bookingExportService.exportBookingsOwner(100L, BookingState.ALL)
+        );
+        assertEquals("User with id=100 not found", exception.getMessage());
+    }
+
+    private List<JsonNode> export(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
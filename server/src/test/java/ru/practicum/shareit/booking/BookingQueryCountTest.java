@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.metrics.QueryCounter;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.QueryBudget.assertStatements;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bookingqueries",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BookingQueryCountTest {
+    private static final int ITEMS = 4;
+    private static final int BOOKERS = 4;
+    private static final int PAGE_SIZE = ITEMS * BOOKERS;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final QueryCounter queryCounter;
+    private final DataSource dataSource;
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        LocalDateTime current = LocalDateTime.now();
+        for (int i = 0; i < BOOKERS; i++) {
+            booker = userService.createUser(new UserDto(null, "Booker" + i, "booker" + i + "@ya.ru"));
+            for (int j = 0; j < ITEMS; j++) {
+                UserDto itemOwner = j == 0 ? owner
+                        : userService.createUser(new UserDto(null, "Owner" + i + j, "owner" + i + j + "@ya.ru"));
+                ItemDto item = itemService.createItem(new ItemDto(null, "item" + j, "description" + j, true,
+                        null), itemOwner.getId());
+                LocalDateTime start = current.plusDays(i * ITEMS + j - PAGE_SIZE / 2);
+                insertBooking(item.getId(), booker.getId(), itemOwner.getId(), start, start.plusHours(12),
+                        j % 2 == 0 ? BookingStatus.WAITING : BookingStatus.APPROVED);
+            }
+        }
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE BOOKINGS; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Should load a page of owner bookings with item and booker in one query")
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    public void shouldLoadOwnerBookingsInOneQuery(BookingState state) {
+        Collection<BookingDto> bookings = assertStatements(queryCounter, 2,
+                () -> bookingService.getAllBookingsOwner(owner.getId(), state, 0, PAGE_SIZE));
+
+        if (state == BookingState.ALL) {
+            assertThat(bookings, hasSize(BOOKERS));
+        }
+        assertThat(bookings, everyItem(hasProperty("item", notNullValue())));
+        assertThat(bookings, everyItem(hasProperty("booker", notNullValue())));
+    }
+
+    @DisplayName("Should load a page of booker bookings with item and booker in one query")
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    public void shouldLoadBookerBookingsInOneQuery(BookingState state) {
+        Collection<BookingDto> bookings = assertStatements(queryCounter, 2,
+                () -> bookingService.getAllBookingsBooker(booker.getId(), state, 0, PAGE_SIZE));
+
+        if (state == BookingState.ALL) {
+            assertThat(bookings, hasSize(ITEMS));
+        }
+        assertThat(bookings, everyItem(hasProperty("item", notNullValue())));
+    }
+
+    @DisplayName("Should load cursor pages with item and booker in one query")
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    public void shouldLoadCursorPagesInOneQuery(BookingState state) {
+        CursorPage<BookingDto> ownerPage = assertStatements(queryCounter, 2,
+                () -> bookingService.getAllBookingsOwnerByCursor(owner.getId(), state, null, PAGE_SIZE));
+        CursorPage<BookingDto> bookerPage = assertStatements(queryCounter, 2,
+                () -> bookingService.getAllBookingsBookerByCursor(booker.getId(), state, null, PAGE_SIZE));
+
+        assertThat(ownerPage.getContent(), everyItem(hasProperty("item", notNullValue())));
+        assertThat(bookerPage.getContent(), everyItem(hasProperty("booker", notNullValue())));
+    }
+
+    @DisplayName("Should load a single booking with item and booker in one query")
+    @Test
+    public void shouldLoadOneBookingInOneQuery() {
+        Long bookingId = bookingService.getAllBookingsOwner(owner.getId(), BookingState.ALL, 0, 1)
+                .iterator().next().getId();
+
+        BookingDto booking = assertStatements(queryCounter, 1,
+                () -> bookingService.getOneBookingUser(bookingId, owner.getId()));
+
+        assertThat(booking.getItem(), is(notNullValue()));
+        assertThat(booking.getBooker(), is(notNullValue()));
+    }
+
+    @DisplayName("Should create a booking without loading the item owner")
+    @Test
+    public void shouldCreateBookingWithinBudget() {
+        UserDto guest = userService.createUser(new UserDto(null, "Guest", "guest@ya.ru"));
+        ItemDto item = itemService.createItem(new ItemDto(null, "Saw", "circular saw", true, null), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+
+        BookingDto booking = assertStatements(queryCounter, 5, () -> bookingService.createBooking(
+                new BookingDtoCreate(item.getId(), start, start.plusDays(1)), guest.getId()));
+
+        assertThat(booking.getItem().getId(), is(equalTo(item.getId())));
+        assertThat(booking.getBooker().getId(), is(equalTo(guest.getId())));
+    }
+
+    @DisplayName("Should approve a booking with one read and one update")
+    @Test
+    public void shouldApproveBookingWithinBudget() {
+        Long bookingId = bookingService.getAllBookingsOwner(owner.getId(), BookingState.WAITING, 0, 1)
+                .iterator().next().getId();
+
+        BookingDto booking = assertStatements(queryCounter, 2,
+                () -> bookingService.updateBooking(owner.getId(), bookingId, true));
+
+        assertThat(booking.getStatus(), is(BookingStatus.APPROVED));
+        assertThat(booking.getItem(), is(notNullValue()));
+        assertThat(booking.getBooker(), is(notNullValue()));
+    }
+
+    private void insertBooking(Long itemId, Long bookerId, Long ownerId, LocalDateTime start, LocalDateTime end,
+                               BookingStatus status) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("INSERT INTO bookings " +
+                     "(time_start, time_end, item_id, user_id, status, owner_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            statement.setObject(1, start);
+            statement.setObject(2, end);
+            statement.setLong(3, itemId);
+            statement.setLong(4, bookerId);
+            statement.setString(5, status.name());
+            statement.setLong(6, ownerId);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -7,19 +7,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.time.TimeService;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -36,8 +44,9 @@ public class BookingServiceTest {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingService bookingService;
+    private final TimeService timeService;
     private final DataSource dataSource;
-    private final LocalDateTime current = LocalDateTime.now();
+    private LocalDateTime current;
     private UserDto userDtoOneCreate;
     private UserDto userDtoTwoCreate;
     private ItemDto itemDtoOneCreate;
@@ -47,6 +56,7 @@ public class BookingServiceTest {
 
     @BeforeEach
     public void setUp() {
+        current = timeService.now();
         userDtoOneCreate = new UserDto(null, "John", "john@ya.ru");
         userDtoTwoCreate = new UserDto(null, "Amy", "amy@ya.ru");
         itemDtoOneCreate = new ItemDto(null, "Rotor hammer", "rotary hammer for concrete", true, null);
@@ -245,6 +255,99 @@ public class BookingServiceTest {
         assertThat(result, contains(bookingDtoCreated));
     }
 
+    @DisplayName("Should get bookings by booker and owner page by cursor")
+    @Test
+    public void shouldGetAllBookingsByCursor() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        LocalDateTime start = current.truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+
+        BookingDto first = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start, start.plusDays(1)), userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), first.getId(), false);
+        BookingDto second = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start, start.plusDays(2)), userDtoTwo.getId());
+        BookingDto third = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start.minusDays(1), start), userDtoTwo.getId());
+
+        CursorPage<BookingDto> booker = bookingService
+                .getAllBookingsBookerByCursor(userDtoTwo.getId(), BookingState.ALL, "", 2);
+        CursorPage<BookingDto> bookerNext = bookingService
+                .getAllBookingsBookerByCursor(userDtoTwo.getId(), BookingState.ALL, booker.getNextCursor(), 2);
+        CursorPage<BookingDto> owner = bookingService
+                .getAllBookingsOwnerByCursor(userDtoOne.getId(), BookingState.FUTURE, "", 3);
+
+        assertThat(ids(booker.getContent()), contains(second.getId(), first.getId()));
+        assertThat(ids(bookerNext.getContent()), contains(third.getId()));
+        assertThat(bookerNext.getNextCursor(), is(nullValue()));
+        assertThat(ids(owner.getContent()), contains(second.getId(), first.getId()));
+        assertThrows(ValidationException.class, () -> bookingService
+                .getAllBookingsOwnerByCursor(userDtoOne.getId(), BookingState.ALL, "broken", 2));
+    }
+
+    @DisplayName("Shouldn't create booking overlapping waiting or approved booking of the item")
+    @Test
+    public void shouldNotCreateOverlappingBooking() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        LocalDateTime start = current.truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        BookingDto booked = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start, start.plusDays(2)), userDtoTwo.getId());
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start.plusDays(1), start.plusDays(3)), userDtoTwo.getId()));
+        assertEquals("Item id=" + itemDto.getId() + " is already booked for this period", exception.getMessage());
+        bookingService.createBooking(new BookingDtoCreate(itemDto.getId(), start.plusDays(2), start.plusDays(3)),
+                userDtoTwo.getId());
+        bookingService.createBooking(new BookingDtoCreate(itemDto.getId(), start.minusDays(1), start),
+                userDtoTwo.getId());
+
+        bookingService.updateBooking(userDtoOne.getId(), booked.getId(), false);
+        BookingDto rebooked = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start, start.plusDays(2)), userDtoTwo.getId());
+        assertThat(rebooked.getStatus(), is(equalTo(BookingStatus.WAITING)));
+    }
+
+    @DisplayName("Should approve and reject bookings in bulk with per-id results")
+    @Test
+    public void shouldUpdateBookingsInBulk() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        LocalDateTime start = current.truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        BookingDto first = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start, start.plusDays(1)), userDtoTwo.getId());
+        BookingDto second = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start.plusDays(1), start.plusDays(2)), userDtoTwo.getId());
+        BookingDto decided = bookingService.createBooking(
+                new BookingDtoCreate(itemDto.getId(), start.plusDays(2), start.plusDays(3)), userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), decided.getId(), true);
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookings(userDtoOne.getId(), List.of(
+                new BookingDecisionDto(first.getId(), true),
+                new BookingDecisionDto(second.getId(), false),
+                new BookingDecisionDto(decided.getId(), false),
+                new BookingDecisionDto(54321L, true)));
+
+        assertThat(results, contains(
+                new BookingDecisionResultDto(first.getId(), BookingStatus.APPROVED, null),
+                new BookingDecisionResultDto(second.getId(), REJECTED, null),
+                new BookingDecisionResultDto(decided.getId(), BookingStatus.APPROVED,
+                        "Booking status is not WAITING"),
+                new BookingDecisionResultDto(54321L, null, "Booking with id=54321 not found")));
+        assertThat(bookingService.getOneBookingUser(first.getId(), userDtoOne.getId()).getStatus(),
+                is(equalTo(BookingStatus.APPROVED)));
+        assertThat(bookingService.getOneBookingUser(second.getId(), userDtoOne.getId()).getStatus(),
+                is(equalTo(REJECTED)));
+        assertThat(bookingService.updateBookings(userDtoTwo.getId(),
+                List.of(new BookingDecisionDto(first.getId(), false))).get(0).getError(),
+                is(equalTo("Booking with id=" + first.getId() + " not found")));
+        assertThrows(ValidationException.class, () -> bookingService.updateBookings(userDtoOne.getId(),
+                List.of(new BookingDecisionDto(first.getId(), true), new BookingDecisionDto(first.getId(), false))));
+    }
+
     @DisplayName("Should get all bookings by booker with states: waiting, rejected")
     @Test
     public void shouldGetAllBookingsBookerWaitingAndRejected() {
@@ -351,4 +454,8 @@ public class BookingServiceTest {
 
         assertThat(result, contains(bookingDtoCreated));
     }
+
+    private List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class IntervalTreeTest {
+    private static final LocalDateTime SOME_TIME = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private IntervalTree tree;
+
+    @BeforeEach
+    public void setUp() {
+        tree = new IntervalTree();
+        tree.put(1L, hour(0), hour(2));
+        tree.put(2L, hour(4), hour(6));
+        tree.put(3L, hour(10), hour(20));
+    }
+
+    @DisplayName("Should detect overlaps of half-open intervals")
+    @Test
+    public void shouldDetectOverlaps() {
+        assertThat(tree.overlaps(hour(1), hour(3)), is(true));
+        assertThat(tree.overlaps(hour(2), hour(4)), is(false));
+        assertThat(tree.overlaps(hour(6), hour(10)), is(false));
+        assertThat(tree.overlaps(hour(12), hour(13)), is(true));
+        assertThat(tree.overlaps(hour(-5), hour(30)), is(true));
+    }
+
+    @DisplayName("Should list overlapping intervals ordered by start")
+    @Test
+    public void shouldListOverlappingIntervals() {
+        tree.put(4L, hour(5), hour(11));
+
+        assertThat(tree.overlapping(hour(5), hour(12)), contains(
+                new IntervalTree.Interval(2L, hour(4), hour(6)),
+                new IntervalTree.Interval(4L, hour(5), hour(11)),
+                new IntervalTree.Interval(3L, hour(10), hour(20))));
+        assertThat(tree.overlapping(hour(2), hour(4)), is(empty()));
+    }
+
+    @DisplayName("Should move and remove intervals by id")
+    @Test
+    public void shouldMoveAndRemoveIntervals() {
+        tree.put(3L, hour(7), hour(8));
+        assertThat(tree.overlaps(hour(12), hour(13)), is(false));
+        assertThat(tree.overlaps(hour(7), hour(9)), is(true));
+
+        assertThat(tree.remove(1L), is(true));
+        assertThat(tree.remove(1L), is(false));
+        assertThat(tree.overlaps(hour(0), hour(2)), is(false));
+        assertThat(tree.size(), is(equalTo(2)));
+    }
+
+    @DisplayName("Should agree with a linear scan on random intervals")
+    @Test
+    public void shouldAgreeWithLinearScan() {
+        tree = new IntervalTree();
+        Random random = new Random(42);
+        Map<Long, LocalDateTime[]> intervals = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            long id = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                tree.remove(id);
+                intervals.remove(id);
+            } else {
+                int start = random.nextInt(1000);
+                LocalDateTime[] interval = {hour(start), hour(start + 1 + random.nextInt(50))};
+                tree.put(id, interval[0], interval[1]);
+                intervals.put(id, interval);
+            }
+            int start = random.nextInt(1000);
+            LocalDateTime queryStart = hour(start);
+            LocalDateTime queryEnd = hour(start + 1 + random.nextInt(20));
+            boolean expected = intervals.values().stream()
+                    .anyMatch(interval -> interval[0].isBefore(queryEnd) && interval[1].isAfter(queryStart));
+            assertThat(tree.overlaps(queryStart, queryEnd), is(expected));
+        }
+        assertThat(tree.size(), is(equalTo(intervals.size())));
+    }
+
+    private static LocalDateTime hour(int hours) {
+        return SOME_TIME.plusHours(hours);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.occupancy;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:occupancy",
+        BookingOverlapCheck.ENGINE + "=memory",
+        "shareit.occupancy.refresh-after-write=100ms",
+        "shareit.occupancy.expire-after-write=200ms"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class OccupancyIndexTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingOverlapCheck bookingOverlapCheck;
+    private final OccupancyIndex occupancyIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    @DisplayName("Should answer from the index and reload bookings written around it once expired")
+    @Test
+    public void shouldReloadExpiredOccupancy() throws InterruptedException {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "owner@ya.ru"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "booker@ya.ru"));
+        ItemDto item = itemService.createItem(new ItemDto(null, "Drill", "cordless drill", true, null),
+                owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+        bookingService.createBooking(new BookingDtoCreate(item.getId(), start, start.plusDays(1)), booker.getId());
+
+        assertThat(bookingOverlapCheck, is(instanceOf(InMemoryBookingOverlapCheck.class)));
+        assertThat(bookingOverlapCheck.occupied(item.getId(), start, start.plusDays(10)), hasSize(1));
+
+        jdbcTemplate.update("INSERT INTO bookings (time_start, time_end, item_id, user_id, owner_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", start.plusDays(2), start.plusDays(3), item.getId(),
+                booker.getId(), owner.getId(), BookingStatus.APPROVED.name());
+        Thread.sleep(300);
+
+        assertThat(bookingOverlapCheck.overlaps(item.getId(), start.plusDays(2), start.plusDays(3)), is(true));
+        assertThat(bookingOverlapCheck.occupied(item.getId(), start, start.plusDays(10)), hasSize(2));
+    }
+
+    @DisplayName("Should keep ended bookings out of the index and answer past periods from the database")
+    @Test
+    public void shouldNotIndexEndedBookings() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "past.owner@ya.ru"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "past.booker@ya.ru"));
+        ItemDto item = itemService.createItem(new ItemDto(null, "Saw", "circular saw", true, null),
+                owner.getId());
+        LocalDateTime past = LocalDateTime.now().minusMonths(1);
+        LocalDateTime future = LocalDateTime.now().plusYears(1);
+        jdbcTemplate.update("INSERT INTO bookings (time_start, time_end, item_id, user_id, owner_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", past, past.plusDays(1), item.getId(),
+                booker.getId(), owner.getId(), BookingStatus.APPROVED.name());
+        bookingService.createBooking(new BookingDtoCreate(item.getId(), future, future.plusDays(1)), booker.getId());
+
+        assertThat(occupancyIndex.indexed(item.getId()), is(1));
+        assertThat(bookingOverlapCheck.occupied(item.getId(), past.minusDays(1), future.plusDays(2)), hasSize(2));
+        assertThat(bookingOverlapCheck.overlaps(item.getId(), past, past.plusDays(1)), is(true));
+    }
+}
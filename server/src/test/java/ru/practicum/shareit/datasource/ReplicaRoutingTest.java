@@ -0,0 +1,168 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.occupancy.BookingOverlapCheck;
+import ru.practicum.shareit.booking.occupancy.IntervalTree;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:routing",
+        ReplicaRoutingConfig.FIRST_REPLICA_URL + "=" + ReplicaRoutingTest.REPLICA_URL,
+        "shareit.datasource.lag-query=SELECT seconds FROM replica_lag",
+        "shareit.datasource.max-lag=5s",
+        "shareit.datasource.lag-check-interval=1h",
+        "spring.cache.type=caffeine",
+        BookingOverlapCheck.ENGINE + "=memory"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA = "replica-0";
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+    private final CacheManager cacheManager;
+    private final BookingOverlapCheck bookingOverlapCheck;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReplicaPool replicaPool;
+    private final MeterRegistry meterRegistry;
+    private final DataSource dataSource;
+
+    @BeforeAll
+    public static void createReplica() throws SQLException {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        executeOnReplica("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE); " +
+                "DELETE FROM replica_lag; " +
+                "INSERT INTO replica_lag VALUES (0);");
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        executeOnReplica("UPDATE replica_lag SET seconds = 0;");
+        replicaPool.checkLag();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE BOOKINGS; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Should send read-only transactions to the replica and writes to the primary")
+    @Test
+    public void shouldRouteReadOnlyTransactionsToReplica() {
+        double replicaRoutes = routes(REPLICA);
+        double primaryRoutes = routes(ReplicaRoutingDataSource.PRIMARY);
+
+        userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+
+        assertThat(userService.getAllUsers(0, 10), is(empty()));
+        assertThat(routes(ReplicaRoutingDataSource.PRIMARY), is(greaterThan(primaryRoutes)));
+        assertThat(routes(REPLICA), is(greaterThan(replicaRoutes)));
+    }
+
+    @DisplayName("Should fall back to the primary while the replica is lagging")
+    @Test
+    public void shouldFallBackToPrimaryIfReplicaLags() throws SQLException {
+        userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        executeOnReplica("UPDATE replica_lag SET seconds = 60;");
+        replicaPool.checkLag();
+        double fallbacks = meterRegistry.get(ReplicaRoutingDataSource.FALLBACK_METRIC).functionCounter().count();
+
+        assertThat(userService.getAllUsers(0, 10), hasSize(1));
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.FALLBACK_METRIC).functionCounter().count(),
+                is(greaterThan(fallbacks)));
+        assertThat(meterRegistry.get(ReplicaPool.LAG_METRIC).tag("replica", REPLICA).gauge().value(), is(60.0));
+    }
+
+    @DisplayName("Should populate caches from the primary instead of the replica")
+    @Test
+    public void shouldLoadCachesFromPrimary() {
+        UserDto owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        ItemDto item = itemService.createItem(new ItemDto(null, "Drill", "cordless drill", true, null),
+                owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+        jdbcTemplate.update("INSERT INTO bookings (time_start, time_end, item_id, user_id, owner_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", start, start.plusDays(1), item.getId(), owner.getId(),
+                owner.getId(), BookingStatus.APPROVED.name());
+        double replicaRoutes = routes(REPLICA);
+
+        assertThat(userService.getUserById(owner.getId()).getName(), is(equalTo("John")));
+        userService.checkExists(owner.getId());
+        assertThat(itemService.getAllItemUser(owner.getId(), 0, 10), hasSize(1));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<IntervalTree.Interval> occupied = readOnly.execute(status -> {
+            assertThat(userService.getAllUsers(0, 10), is(empty()));
+            return bookingOverlapCheck.occupied(item.getId(), start, start.plusDays(2));
+        });
+
+        assertThat(occupied, hasSize(1));
+        assertThat(routes(REPLICA), is(equalTo(replicaRoutes + 1)));
+    }
+
+    @DisplayName("Should check user existence on the primary and keep list queries on the replica")
+    @Test
+    public void shouldReadListsFromReplicaOnColdExistsCache() {
+        UserDto user = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        cacheManager.getCache(CacheConfig.USER_EXISTS).clear();
+        double replicaRoutes = routes(REPLICA);
+        double primaryRoutes = routes(ReplicaRoutingDataSource.PRIMARY);
+
+        assertThat(bookingService.getAllBookingsBooker(user.getId(), BookingState.ALL, 0, 10), is(empty()));
+        assertThat(itemRequestService.getListOfRequestsForItemsUser(user.getId()), is(empty()));
+
+        assertThat(routes(REPLICA), is(equalTo(replicaRoutes + 2)));
+        assertThat(routes(ReplicaRoutingDataSource.PRIMARY), is(equalTo(primaryRoutes + 1)));
+    }
+
+    private double routes(String route) {
+        return meterRegistry.get(ReplicaRoutingDataSource.ROUTE_METRIC).tag("route", route).functionCounter().count();
+    }
+
+    private static void executeOnReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
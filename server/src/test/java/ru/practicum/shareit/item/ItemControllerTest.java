@@ -10,9 +10,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -39,6 +42,8 @@ public class ItemControllerTest {
     private MockMvc mvc;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private ItemImportService itemImportService;
     @Autowired
     private ObjectMapper mapper;
     private ItemDtoInfo itemDtoInfo;
@@ -228,6 +233,62 @@ public class ItemControllerTest {
         verify(itemService).createComment(any(), anyLong(), anyLong());
     }
 
+    @DisplayName("Should get item availability")
+    @Test
+    @SneakyThrows
+    public void shouldGetAvailability() {
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, SOME_TIME, SOME_TIME.plusDays(3),
+                List.of(new AvailabilityIntervalDto(SOME_TIME, SOME_TIME.plusDays(1))),
+                List.of(new AvailabilityIntervalDto(SOME_TIME.plusDays(1), SOME_TIME.plusDays(3))));
+
+        when(itemService.getAvailability(1L, SOME_TIME, SOME_TIME.plusDays(3))).thenReturn(availability);
+
+        mvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", SOME_TIME.format(DATE_FORMAT))
+                        .param("to", SOME_TIME.plusDays(3).format(DATE_FORMAT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.occupied", hasSize(1)))
+                .andExpect(jsonPath("$.occupied[0].end").value(SOME_TIME.plusDays(1).format(DATE_FORMAT)))
+                .andExpect(jsonPath("$.free[0].start").value(SOME_TIME.plusDays(1).format(DATE_FORMAT)));
+    }
+
+    @DisplayName("Should import items")
+    @Test
+    @SneakyThrows
+    public void shouldImportItems() {
+        ItemImportResultDto result = new ItemImportResultDto(2L, 1L, 1L, true,
+                List.of("Item #2: Name of item can't be blank"));
+
+        when(itemImportService.importItems(any(), eq(1L))).thenReturn(result);
+
+        mvc.perform(post("/items/import")
+                        .header(USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Drill\",\"description\":\"drill\",\"available\":true}\n" +
+                                "{\"description\":\"saw\",\"available\":true}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.finished").value(true))
+                .andExpect(jsonPath("$.errors", hasSize(1)));
+    }
+
+    @DisplayName("Should get import progress")
+    @Test
+    @SneakyThrows
+    public void shouldGetImportProgress() {
+        when(itemImportService.getImportProgress(1L))
+                .thenReturn(new ItemImportResultDto(50L, 50L, 0L, false, List.of()));
+
+        mvc.perform(get("/items/import")
+                        .header(USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(50))
+                .andExpect(jsonPath("$.finished").value(false));
+    }
+
     private ItemDtoInfo getItemDtoInfo() {
         return new ItemDtoInfo(1L, "Rotor hammer", "rotary hammer for concrete", true,
                 new BookingDtoInfo(1L, 1L,
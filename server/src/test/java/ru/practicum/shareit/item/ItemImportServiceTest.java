@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:test", "shareit.item.import.batch-size=10"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemImportServiceTest {
+    private final ItemImportService itemImportService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRequestService itemRequestService;
+    private final DataSource dataSource;
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        var connection = dataSource.getConnection();
+        var statement = connection.createStatement();
+
+        statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                "TRUNCATE TABLE ITEMS; " +
+                "TRUNCATE TABLE REQUESTS; " +
+                "TRUNCATE TABLE USERS; " +
+                "SET REFERENTIAL_INTEGRITY TRUE;");
+        statement.close();
+        connection.close();
+    }
+
+    @DisplayName("Should import items from NDJSON in batches")
+    @Test
+    public void shouldImportItemsFromNdjson() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        UserDto requester = userService.createUser(new UserDto(null, "Amy", "amy@ya.ru"));
+        ItemRequestDtoInfo request = itemRequestService.createItemRequest(new ItemRequestDto("need drill"),
+                requester.getId());
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            body.append("{\"id\":999,\"name\":\"Drill ").append(i).append("\",\"description\":\"drill\",")
+                    .append("\"available\":true,\"requestId\":").append(request.getId()).append("}\n");
+        }
+        body.append("{\"name\":\"\",\"description\":\"saw\",\"available\":true}\n");
+        body.append("{\"name\":\"Saw\",\"description\":\"saw\",\"available\":\"maybe\"}\n");
+        body.append("{\"name\":\"Saw\",\"description\":\"saw\",\"available\":true,\"requestId\":100}\n");
+
+        ItemImportResultDto result = itemImportService.importItems(toStream(body.toString()), owner.getId());
+
+        assertThat(result.getProcessed(), is(28L));
+        assertThat(result.getImported(), is(25L));
+        assertThat(result.getFailed(), is(3L));
+        assertThat(result.getFinished(), is(true));
+        assertThat(result.getErrors(), contains(
+                equalTo("Item #26: Name of item can't be blank"),
+                startsWith("Item #27: "),
+                equalTo("Item #28: Request id=100 not found")));
+
+        Collection<ItemDto> items = itemService.searchItems("drill", 0, 30);
+        assertThat(items, hasSize(25));
+        assertThat(items, everyItem(hasProperty("requestId", is(request.getId()))));
+        assertThat(items, not(hasItem(hasProperty("id", is(999L)))));
+        assertThat(itemRequestService.getItemRequestById(request.getId(), requester.getId()).getItems(),
+                hasSize(25));
+    }
+
+    @DisplayName("Should import items from JSON array and stop on malformed JSON")
+    @Test
+    public void shouldImportItemsFromJsonArray() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        String body = "[{\"name\":\"Drill\",\"description\":\"drill\",\"available\":true}," +
+                "{\"name\":\"Saw\",\"description\":\"saw\",\"available\":false}, {oops";
+
+        ItemImportResultDto result = itemImportService.importItems(toStream(body), owner.getId());
+
+        assertThat(result.getImported(), is(2L));
+        assertThat(result.getFailed(), is(1L));
+        assertThat(result.getErrors(), is(List.of("Item #3: malformed JSON, import stopped")));
+        assertThat(itemService.getAllItemUser(owner.getId(), 0, 10), hasSize(2));
+    }
+
+    @DisplayName("Should not import items for unknown user")
+    @Test
+    public void shouldNotImportItemsForUnknownUser() {
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> itemImportService.importItems(toStream("{}"), 100L)
+        );
+        assertEquals("User with id=100 not found", exception.getMessage());
+    }
+
+    @DisplayName("Should not get progress if import is not running")
+    @Test
+    public void shouldNotGetImportProgress() {
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> itemImportService.getImportProgress(1L)
+        );
+        assertEquals("Import of items for user id=1 is not running", exception.getMessage());
+    }
+
+    private ByteArrayInputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.metrics.QueryCounter;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.QueryBudget.assertStatements;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:itemqueries",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemQueryCountTest {
+    private static final int ITEMS = 6;
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final QueryCounter queryCounter;
+    private final DataSource dataSource;
+    private UserDto owner;
+    private List<ItemDto> items;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        items = new ArrayList<>();
+        LocalDateTime current = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            UserDto booker = userService.createUser(new UserDto(null, "Booker" + i, "booker" + i + "@ya.ru"));
+            ItemDto item = itemService.createItem(new ItemDto(null, "item" + i, "description" + i, true, null),
+                    owner.getId());
+            items.add(item);
+            insertBooking(item.getId(), booker.getId(), current.minusDays(2), current.minusDays(1));
+            insertBooking(item.getId(), booker.getId(), current.plusDays(1), current.plusDays(2));
+            insertComment(item.getId(), booker.getId(), current.minusHours(1));
+        }
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE COMMENTS; " +
+                    "TRUNCATE TABLE BOOKINGS; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Should load a page of owner items with bookings and comments in a constant number of statements")
+    @Test
+    public void shouldLoadOwnerItemsWithinBudget() {
+        Collection<ItemDtoInfo> small = assertStatements(queryCounter, 3,
+                () -> itemService.getAllItemUser(owner.getId(), 0, 2));
+        Collection<ItemDtoInfo> large = assertStatements(queryCounter, 3,
+                () -> itemService.getAllItemUser(owner.getId(), 0, ITEMS));
+
+        assertThat(small, hasSize(2));
+        assertThat(large, hasSize(ITEMS));
+        assertThat(large, everyItem(hasProperty("lastBooking", notNullValue())));
+        assertThat(large, everyItem(hasProperty("nextBooking", notNullValue())));
+        assertThat(large, everyItem(hasProperty("comments", hasSize(1))));
+    }
+
+    @DisplayName("Should load a single item for its owner within budget")
+    @Test
+    public void shouldLoadOwnerItemWithinBudget() {
+        ItemDtoInfo item = assertStatements(queryCounter, 5,
+                () -> itemService.getItemDtoById(items.get(0).getId(), owner.getId()));
+
+        assertThat(item.getNextBooking(), is(notNullValue()));
+        assertThat(item.getComments(), hasSize(1));
+    }
+
+    @DisplayName("Should load an item for an availability check without its owner")
+    @Test
+    public void shouldFindItemWithoutOwner() {
+        Item item = assertStatements(queryCounter, 1, () -> itemService.findById(items.get(0).getId()));
+
+        assertThat(item.getAvailable(), is(true));
+        assertThat(item.getOwner().getId(), is(equalTo(owner.getId())));
+        assertThat(Hibernate.isInitialized(item.getOwner()), is(false));
+    }
+
+    @DisplayName("Should load an item for another user with comments within budget")
+    @Test
+    public void shouldLoadItemForOtherUserWithinBudget() {
+        UserDto guest = userService.createUser(new UserDto(null, "Guest", "guest@ya.ru"));
+
+        ItemDtoInfo item = assertStatements(queryCounter, 3,
+                () -> itemService.getItemDtoById(items.get(0).getId(), guest.getId()));
+
+        assertThat(item.getNextBooking(), is(nullValue()));
+        assertThat(item.getComments(), hasSize(1));
+    }
+
+    private void insertBooking(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end)
+            throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("INSERT INTO bookings " +
+                     "(time_start, time_end, item_id, user_id, status, owner_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            statement.setObject(1, start);
+            statement.setObject(2, end);
+            statement.setLong(3, itemId);
+            statement.setLong(4, bookerId);
+            statement.setString(5, BookingStatus.APPROVED.name());
+            statement.setLong(6, owner.getId());
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertComment(Long itemId, Long authorId, LocalDateTime created) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("INSERT INTO comments " +
+                     "(text, created, item_id, user_id) VALUES (?, ?, ?, ?)")) {
+            statement.setString(1, "Great item");
+            statement.setObject(2, created);
+            statement.setLong(3, itemId);
+            statement.setLong(4, authorId);
+            statement.executeUpdate();
+        }
+    }
+}
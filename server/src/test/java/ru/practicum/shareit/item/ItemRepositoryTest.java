@@ -10,16 +10,25 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDtoOwnerView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
 
 @DataJpaTest
 public class ItemRepositoryTest {
@@ -27,6 +36,8 @@ public class ItemRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
     private User ownerOne;
     private User ownerTwo;
     private Item itemOne;
@@ -95,8 +106,46 @@ public class ItemRepositoryTest {
         assertThat(resultThree, hasSize(0));
     }
 
+    @DisplayName("Should get owner items with last and next approved bookings")
+    @Test
+    public void findOwnerDashboard() {
+        LocalDateTime current = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking past = bookingRepository.save(new Booking(null, current.minusDays(3), current.minusDays(2),
+                itemTwo, ownerOne, APPROVED, ownerTwo.getId()));
+        Booking last = bookingRepository.save(new Booking(null, current.minusDays(1), current.plusDays(1),
+                itemTwo, ownerOne, APPROVED, ownerTwo.getId()));
+        Booking next = bookingRepository.save(new Booking(null, current.plusDays(2), current.plusDays(3),
+                itemTwo, ownerOne, APPROVED, ownerTwo.getId()));
+        bookingRepository.save(new Booking(null, current.plusDays(1), current.plusDays(2),
+                itemTwo, ownerOne, WAITING, ownerTwo.getId()));
+        bookingRepository.save(new Booking(null, current.plusDays(4), current.plusDays(5),
+                itemTwo, ownerOne, APPROVED, ownerTwo.getId()));
+
+        List<ItemDtoOwnerView> result = itemRepository.findOwnerDashboard(ownerTwo.getId(), current,
+                APPROVED.name(), getPageable(0, 10));
+
+        assertThat(result, hasSize(2));
+        assertEquals(itemTwo.getId(), result.get(0).getId());
+        assertEquals(last.getId(), result.get(0).getLastBookingId());
+        assertEquals(ownerOne.getId(), result.get(0).getLastBookerId());
+        assertEquals(APPROVED, result.get(0).getLastStatus());
+        assertEquals(next.getId(), result.get(0).getNextBookingId());
+        assertEquals(next.getStart(), result.get(0).getNextStart());
+        assertThat(past.getId(), not(equalTo(result.get(0).getLastBookingId())));
+        assertEquals(itemThree.getId(), result.get(1).getId());
+        assertNull(result.get(1).getLastBookingId());
+        assertNull(result.get(1).getNextBookingId());
+
+        List<ItemDtoOwnerView> resultTwo = itemRepository.findOwnerDashboard(ownerTwo.getId(), current,
+                APPROVED.name(), getPageable(1, 1));
+
+        assertThat(resultTwo, hasSize(1));
+        assertEquals(itemThree.getId(), resultTwo.get(0).getId());
+    }
+
     @AfterEach
     public void deleteAll() {
+        bookingRepository.deleteAll();
         userRepository.deleteAll();
         itemRepository.deleteAll();
     }
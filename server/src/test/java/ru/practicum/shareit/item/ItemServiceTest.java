@@ -12,8 +12,11 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
 import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
@@ -24,7 +27,9 @@ import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -184,6 +189,37 @@ public class ItemServiceTest {
         assertThat(itemsTwo, is(hasSize(0)));
     }
 
+    @DisplayName("Should get owner items with last and next bookings")
+    @Test
+    public void shouldGetAllItemUser() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        ItemDto itemDtoTwo = itemService.createItem(itemDtoTwoCreate, userDtoOne.getId());
+
+        bookingDtoTwoCreate.setItemId(itemDtoOne.getId());
+        bookingDtoCreate.setItemId(itemDtoOne.getId());
+        BookingDto lastBooking = bookingService.createBooking(bookingDtoTwoCreate, userDtoTwo.getId());
+        BookingDto nextBooking = bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), lastBooking.getId(), true);
+        bookingService.updateBooking(userDtoOne.getId(), nextBooking.getId(), true);
+        CommentDto comment = itemService.createComment(commentDtoCreate, userDtoTwo.getId(), itemDtoOne.getId());
+
+        List<ItemDtoInfo> result = new ArrayList<>(itemService.getAllItemUser(userDtoOne.getId(), 0, 10));
+
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).getId(), is(equalTo(itemDtoOne.getId())));
+        assertThat(result.get(0).getLastBooking().getId(), is(equalTo(lastBooking.getId())));
+        assertThat(result.get(0).getLastBooking().getBookerId(), is(equalTo(userDtoTwo.getId())));
+        assertThat(result.get(0).getNextBooking().getId(), is(equalTo(nextBooking.getId())));
+        assertThat(result.get(0).getComments(), hasSize(1));
+        assertThat(result.get(0).getComments().get(0).getId(), is(equalTo(comment.getId())));
+        assertThat(result.get(1).getId(), is(equalTo(itemDtoTwo.getId())));
+        assertThat(result.get(1).getLastBooking(), is(nullValue()));
+        assertThat(result.get(1).getNextBooking(), is(nullValue()));
+        assertThat(result.get(1).getComments(), is(empty()));
+    }
+
     @DisplayName("Should not create comment when booking time has not expired")
     @Test
     public void shouldNotCreateCommentIfTheBookingTimeHasNotExpired() {
@@ -219,4 +255,36 @@ public class ItemServiceTest {
         );
         assertEquals("Item doesn't exist yet", exception.getMessage());
     }
+
+    @DisplayName("Should get item availability and follow booking status changes")
+    @Test
+    public void shouldGetAvailability() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime to = from.plusDays(10);
+
+        BookingDto first = bookingService.createBooking(
+                new BookingDtoCreate(itemDtoOne.getId(), from.minusDays(1), from.plusDays(2)), userDtoTwo.getId());
+        ItemAvailabilityDto availability = itemService.getAvailability(itemDtoOne.getId(), from, to);
+        bookingService.createBooking(
+                new BookingDtoCreate(itemDtoOne.getId(), from.plusDays(2), from.plusDays(3)), userDtoTwo.getId());
+        bookingService.createBooking(
+                new BookingDtoCreate(itemDtoOne.getId(), from.plusDays(5), from.plusDays(6)), userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), first.getId(), false);
+        ItemAvailabilityDto changed = itemService.getAvailability(itemDtoOne.getId(), from, to);
+
+        assertThat(availability.getOccupied(), contains(new AvailabilityIntervalDto(from, from.plusDays(2))));
+        assertThat(availability.getFree(), contains(new AvailabilityIntervalDto(from.plusDays(2), to)));
+        assertThat(changed.getOccupied(), contains(
+                new AvailabilityIntervalDto(from.plusDays(2), from.plusDays(3)),
+                new AvailabilityIntervalDto(from.plusDays(5), from.plusDays(6))));
+        assertThat(changed.getFree(), contains(
+                new AvailabilityIntervalDto(from, from.plusDays(2)),
+                new AvailabilityIntervalDto(from.plusDays(3), from.plusDays(5)),
+                new AvailabilityIntervalDto(from.plusDays(6), to)));
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(itemDtoOne.getId(), to, from));
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(54321L, from, to));
+    }
 }
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.time.MutableClock;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:ownerviews", "spring.cache.type=caffeine"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class OwnerViewCacheTest {
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final CacheManager cacheManager;
+    private final MutableClock clock;
+    private final DataSource dataSource;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @TestConfiguration
+    static class MutableClockConfig {
+        @Bean
+        @Primary
+        public MutableClock mutableClock() {
+            return new MutableClock(Instant.now(), ZoneId.systemDefault());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        booker = userService.createUser(new UserDto(null, "Amy", "amy@ya.ru"));
+        item = itemService.createItem(new ItemDto(null, "Rotor hammer", "rotary hammer for concrete", true, null),
+                owner.getId());
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        cacheManager.getCache(CacheConfig.OWNER_VIEWS).clear();
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE COMMENTS; " +
+                    "TRUNCATE TABLE BOOKINGS; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Should serve owner items from cache until an item is updated")
+    @Test
+    public void shouldEvictOwnerItemsOnItemUpdate() {
+        Collection<ItemDtoInfo> first = itemService.getAllItemUser(owner.getId(), 0, 10);
+        Collection<ItemDtoInfo> second = itemService.getAllItemUser(owner.getId(), 0, 10);
+
+        assertThat(second, is(sameInstance(first)));
+
+        itemService.updateItem(new ItemDto(null, "Drill", null, null, null), item.getId(), owner.getId());
+        List<ItemDtoInfo> updated = List.copyOf(itemService.getAllItemUser(owner.getId(), 0, 10));
+
+        assertThat(updated, is(not(sameInstance(first))));
+        assertThat(updated.get(0).getName(), is(equalTo("Drill")));
+    }
+
+    @DisplayName("Should evict owner item view on booking approval")
+    @Test
+    public void shouldEvictOwnerItemOnBookingChange() {
+        ItemDtoInfo empty = itemService.getItemDtoById(item.getId(), owner.getId());
+        BookingDto booking = bookingService.createBooking(new BookingDtoCreate(item.getId(),
+                LocalDateTime.now(clock).plusDays(1), LocalDateTime.now(clock).plusDays(2)), booker.getId());
+        ItemDtoInfo waiting = itemService.getItemDtoById(item.getId(), owner.getId());
+        bookingService.updateBooking(owner.getId(), booking.getId(), true);
+        ItemDtoInfo approved = itemService.getItemDtoById(item.getId(), owner.getId());
+
+        assertThat(empty.getNextBooking(), is(nullValue()));
+        assertThat(waiting, is(not(sameInstance(empty))));
+        assertThat(approved.getNextBooking().getId(), is(equalTo(booking.getId())));
+        assertThat(itemService.getItemDtoById(item.getId(), owner.getId()), is(sameInstance(approved)));
+        assertThat(itemService.getItemDtoById(item.getId(), booker.getId()).getNextBooking(), is(nullValue()));
+    }
+
+    @DisplayName("Should not create cache entries for users viewing items they do not own")
+    @Test
+    public void shouldNotCacheNonOwnerViews() {
+        ItemDtoInfo view = itemService.getItemDtoById(item.getId(), booker.getId());
+
+        assertThat(view.getId(), is(equalTo(item.getId())));
+        assertThat(cacheManager.getCache(CacheConfig.OWNER_VIEWS).get(booker.getId()), is(nullValue()));
+        assertThat(cacheManager.getCache(CacheConfig.OWNER_VIEWS).get(owner.getId()), is(nullValue()));
+
+        itemService.getItemDtoById(item.getId(), owner.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.OWNER_VIEWS).get(owner.getId()), is(notNullValue()));
+    }
+
+    @DisplayName("Should evict owner items on a new comment")
+    @Test
+    public void shouldEvictOwnerItemsOnComment() {
+        LocalDateTime past = LocalDateTime.now(clock).minusDays(2);
+        BookingDto booking = bookingService.createBooking(new BookingDtoCreate(item.getId(), past,
+                past.plusDays(1)), booker.getId());
+        bookingService.updateBooking(owner.getId(), booking.getId(), true);
+        List<ItemDtoInfo> before = List.copyOf(itemService.getAllItemUser(owner.getId(), 0, 10));
+
+        CommentDto comment = itemService.createComment(new CommentDto(null, "cool", null, null, null),
+                booker.getId(), item.getId());
+        List<ItemDtoInfo> after = List.copyOf(itemService.getAllItemUser(owner.getId(), 0, 10));
+
+        assertThat(before.get(0).getComments(), is(empty()));
+        assertThat(after.get(0).getComments(), hasSize(1));
+        assertThat(after.get(0).getComments().get(0).getId(), is(equalTo(comment.getId())));
+    }
+
+    @DisplayName("Should rebuild owner items once the next booking starts")
+    @Test
+    public void shouldExpireOwnerItemsAtNextBookingStart() {
+        LocalDateTime start = LocalDateTime.now(clock).plusHours(1);
+        BookingDto booking = bookingService.createBooking(new BookingDtoCreate(item.getId(), start,
+                start.plusHours(1)), booker.getId());
+        bookingService.updateBooking(owner.getId(), booking.getId(), true);
+        List<ItemDtoInfo> before = List.copyOf(itemService.getAllItemUser(owner.getId(), 0, 10));
+
+        clock.advance(Duration.ofMinutes(30));
+        Collection<ItemDtoInfo> cached = itemService.getAllItemUser(owner.getId(), 0, 10);
+        clock.advance(Duration.ofMinutes(31));
+        List<ItemDtoInfo> after = List.copyOf(itemService.getAllItemUser(owner.getId(), 0, 10));
+
+        assertThat(cached, is(equalTo(before)));
+        assertThat(before.get(0).getNextBooking().getId(), is(equalTo(booking.getId())));
+        assertThat(before.get(0).getLastBooking(), is(nullValue()));
+        assertThat(after.get(0).getNextBooking(), is(nullValue()));
+        assertThat(after.get(0).getLastBooking().getId(), is(equalTo(booking.getId())));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:databasesearch", "shareit.search.engine=database"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class DatabaseItemSearchTest extends ItemSearchEngineTest {
+
+    @DisplayName("Should select the database search engine")
+    @Test
+    public void shouldSelectDatabaseEngine() {
+        assertThat(itemSearch, instanceOf(DatabaseItemSearch.class));
+    }
+}
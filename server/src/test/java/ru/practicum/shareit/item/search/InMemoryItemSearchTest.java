@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:memorysearch", "shareit.search.engine=memory"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class InMemoryItemSearchTest extends ItemSearchEngineTest {
+
+    @DisplayName("Should select the in-memory search engine")
+    @Test
+    public void shouldSelectInMemoryEngine() {
+        assertThat(itemSearch, instanceOf(InMemoryItemSearch.class));
+    }
+}
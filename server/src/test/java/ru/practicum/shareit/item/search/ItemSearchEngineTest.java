@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public abstract class ItemSearchEngineTest {
+    @Autowired
+    protected ItemSearch itemSearch;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private DataSource dataSource;
+    private Set<Long> drills;
+
+    @BeforeEach
+    public void setUp() {
+        UserDto owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        ItemDto drill = create(owner, "Drill", "cordless drill", true);
+        ItemDto hammer = create(owner, "Hammer drill", "rotary hammer", true);
+        ItemDto sander = create(owner, "Sander", "DRILLS not included", true);
+        create(owner, "Old drill", "broken", false);
+        create(owner, "Saw", "circular saw", true);
+        drills = Set.of(drill.getId(), hammer.getId(), sander.getId());
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Should find available items by name or description ignoring case")
+    @Test
+    public void shouldFindAvailableItems() {
+        assertThat(ids(itemService.searchItems("drill", 0, 10)), is(equalTo(drills)));
+        assertThat(ids(itemService.searchItems("DrIlL", 0, 10)), is(equalTo(drills)));
+        assertThat(itemService.searchItems("planer", 0, 10), is(empty()));
+    }
+
+    @DisplayName("Should page through search results without duplicates")
+    @Test
+    public void shouldPageSearchResults() {
+        List<Long> first = List.copyOf(ids(itemService.searchItems("drill", 0, 2)));
+        List<Long> second = List.copyOf(ids(itemService.searchItems("drill", 2, 2)));
+
+        assertThat(first, hasSize(2));
+        assertThat(second, hasSize(1));
+        assertThat(second, everyItem(not(in(first))));
+    }
+
+    private ItemDto create(UserDto owner, String name, String description, boolean available) {
+        return itemService.createItem(new ItemDto(null, name, description, available, null), owner.getId());
+    }
+
+    private static Set<Long> ids(Collection<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toSet());
+    }
+}
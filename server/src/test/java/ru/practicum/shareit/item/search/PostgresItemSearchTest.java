@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:postgressearch", "shareit.search.engine=postgres"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class PostgresItemSearchTest {
+    private final ItemSearch itemSearch;
+
+    @DisplayName("Should select the PostgreSQL search engine")
+    @Test
+    public void shouldSelectPostgresEngine() {
+        assertThat(itemSearch, instanceOf(PostgresItemSearch.class));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+public class TrigramIndexTest {
+    private TrigramIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Rotor hammer", "rotary hammer for concrete", true);
+        index.put(2L, "Vacuum cleaner", "industrial vacuum cleaner", true);
+        index.put(3L, "Drill", "drill with hammer mode", true);
+        index.put(4L, "Hammer", "plain hammer", false);
+    }
+
+    @DisplayName("Should find available items by substring ignoring case")
+    @Test
+    public void shouldSearchBySubstring() {
+        assertThat(index.search("VaC", 0, 10), contains(2L));
+        assertThat(index.search("er", 0, 10), contains(1L, 2L, 3L));
+        assertThat(index.search("korf", 0, 10), empty());
+    }
+
+    @DisplayName("Should rank name matches above description matches")
+    @Test
+    public void shouldRankByRelevance() {
+        index.put(5L, "Hammer drill", "heavy", true);
+
+        assertThat(index.search("hammer", 0, 10), contains(5L, 1L, 3L));
+        assertThat(index.search("hammer", 1, 1), contains(1L));
+    }
+
+    @DisplayName("Should reflect updates and removals")
+    @Test
+    public void shouldUpdateDocuments() {
+        index.put(4L, "Hammer", "plain hammer", true);
+        index.put(1L, "Rotor", "rotary tool", true);
+        index.remove(3L);
+
+        List<Long> result = index.search("hammer", 0, 10);
+
+        assertThat(result, contains(4L));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RequestMetricsFilterTest {
+    private static final String URI = "/bookings/owner";
+    private static final String SELECT_USER = "select * from users where user_id=?";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryCounter queryCounter = new QueryCounter();
+    private final QueryBudgetProperties budgets = new QueryBudgetProperties();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(registry, queryCounter, budgets);
+
+    @BeforeEach
+    public void setUp() {
+        budgets.setStatementBudget(4);
+        budgets.setRepeatThreshold(3);
+    }
+
+    @DisplayName("Should flag a statement repeated within one request")
+    @Test
+    public void shouldFlagRepeatedStatement() {
+        run(SELECT_USER, SELECT_USER, SELECT_USER);
+
+        assertThat(violations(RequestMetricsFilter.REPEATED_STATEMENT), is(1.0));
+        assertThat(violations(RequestMetricsFilter.STATEMENT_BUDGET), is(0.0));
+    }
+
+    @DisplayName("Should flag requests exceeding the statement budget")
+    @Test
+    public void shouldFlagStatementBudget() {
+        run("select 1", "select 2", "select 3", "select 4", "select 5");
+
+        assertThat(violations(RequestMetricsFilter.STATEMENT_BUDGET), is(1.0));
+        assertThat(violations(RequestMetricsFilter.REPEATED_STATEMENT), is(0.0));
+    }
+
+    @DisplayName("Should not flag requests within budget")
+    @Test
+    public void shouldNotFlagRequestsWithinBudget() {
+        run(SELECT_USER, SELECT_USER, "select 1");
+
+        assertThat(registry.find(RequestMetricsFilter.QUERY_VIOLATIONS).counters(), is(empty()));
+        assertThat(registry.get(RequestMetricsFilter.REQUEST_STATEMENTS).summary().totalAmount(), is(3.0));
+    }
+
+    @DisplayName("Should apply endpoint overrides and skip excluded endpoints")
+    @Test
+    public void shouldApplyEndpointBudgets() {
+        budgets.getEndpoints().add(endpoint(URI, 10, null, false));
+        run("select 1", "select 2", "select 3", "select 4", "select 5");
+        assertThat(violations(RequestMetricsFilter.STATEMENT_BUDGET), is(0.0));
+
+        budgets.getEndpoints().set(0, endpoint(URI, null, null, true));
+        run(SELECT_USER, SELECT_USER, SELECT_USER, "select 1", "select 2");
+        assertThat(violations(RequestMetricsFilter.STATEMENT_BUDGET), is(0.0));
+        assertThat(violations(RequestMetricsFilter.REPEATED_STATEMENT), is(0.0));
+
+        budgets.getEndpoints().set(0, endpoint("/items/import", null, null, true));
+        run(SELECT_USER, SELECT_USER, SELECT_USER);
+        assertThat(violations(RequestMetricsFilter.REPEATED_STATEMENT), is(1.0));
+    }
+
+    @DisplayName("Should record rows only while JDBC rows are counted")
+    @Test
+    public void shouldRecordRowsOnlyWhenCounting() {
+        run(SELECT_USER);
+        assertThat(registry.find(RequestMetricsFilter.REQUEST_ROWS).summary(), is(nullValue()));
+
+        queryCounter.startCountingRows();
+        run(SELECT_USER);
+        assertThat(registry.get(RequestMetricsFilter.REQUEST_ROWS).summary().count(), is(1L));
+    }
+
+    @DisplayName("Should not count statements outside of a request")
+    @Test
+    public void shouldNotCountOutsideOfRequest() {
+        run(SELECT_USER);
+        queryCounter.inspect(SELECT_USER);
+
+        assertThat(queryCounter.stop().getStatements(), is(0));
+        assertThat(registry.get(RequestMetricsFilter.REQUEST_STATEMENTS).summary().totalAmount(), is(1.0));
+    }
+
+    @SneakyThrows
+    private void run(String... statements) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+        FilterChain chain = (req, res) -> {
+            for (String sql : statements) {
+                queryCounter.inspect(sql);
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private static QueryBudgetProperties.Endpoint endpoint(String uri, Integer statementBudget,
+                                                           Integer repeatThreshold, boolean excluded) {
+        QueryBudgetProperties.Endpoint endpoint = new QueryBudgetProperties.Endpoint();
+        endpoint.setMethod("GET");
+        endpoint.setUri(uri);
+        endpoint.setStatementBudget(statementBudget);
+        endpoint.setRepeatThreshold(repeatThreshold);
+        endpoint.setExcluded(excluded);
+        return endpoint;
+    }
+
+    private double violations(String reason) {
+        return registry.counter(RequestMetricsFilter.QUERY_VIOLATIONS, "method", "GET", "uri", URI,
+                "reason", reason).count();
+    }
+}
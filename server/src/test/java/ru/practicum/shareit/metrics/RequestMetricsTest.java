@@ -0,0 +1,150 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class RequestMetricsTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    private final MockMvc mvc;
+    private final MeterRegistry registry;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final DataSource dataSource;
+    private UserDto owner;
+
+    @BeforeEach
+    public void setUp() {
+        registry.clear();
+        owner = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        UserDto booker = userService.createUser(new UserDto(null, "Amy", "amy@ya.ru"));
+        ItemDto item = itemService.createItem(new ItemDto(null, "Drill", "cordless drill", true, null),
+                owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(new BookingDtoCreate(item.getId(), start, start.plusDays(1)), booker.getId());
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                    "TRUNCATE TABLE BOOKINGS; " +
+                    "TRUNCATE TABLE ITEMS; " +
+                    "TRUNCATE TABLE USERS; " +
+                    "SET REFERENTIAL_INTEGRITY TRUE;");
+        }
+    }
+
+    @DisplayName("Should record statements and rows per endpoint and booking state")
+    @Test
+    @SneakyThrows
+    public void shouldRecordRequestMetrics() {
+        mvc.perform(get("/bookings/owner").param("state", "FUTURE").header(USER_ID, owner.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = registry.get(RequestMetricsFilter.REQUEST_STATEMENTS)
+                .tags("method", "GET", "uri", "/bookings/owner", "state", "FUTURE")
+                .summary();
+        assertThat(statements.count(), is(1L));
+        assertThat(statements.totalAmount(), is(greaterThan(0.0)));
+        DistributionSummary rows = registry.get(RequestMetricsFilter.REQUEST_ROWS)
+                .tags("uri", "/bookings/owner", "state", "FUTURE")
+                .summary();
+        assertThat(rows.totalAmount(), is(greaterThanOrEqualTo(1.0)));
+    }
+
+    @DisplayName("Should time service and repository methods")
+    @Test
+    @SneakyThrows
+    public void shouldTimeServiceAndRepositoryMethods() {
+        mvc.perform(get("/bookings/owner").param("state", "FUTURE").header(USER_ID, owner.getId()))
+                .andExpect(status().isOk());
+
+        Timer service = registry.get(MethodMetricsAspect.METHOD_TIMER)
+                .tags("layer", "service", "class", "BookingService", "method", "getAllBookingsOwner",
+                        "state", "FUTURE", "exception", "none")
+                .timer();
+        assertThat(service.count(), is(1L));
+        Timer repository = registry.get(MethodMetricsAspect.METHOD_TIMER)
+                .tags("layer", "repository", "class", "BookingRepository", "method", "findAllByOwnerIdAndStartAfter")
+                .timer();
+        assertThat(repository.count(), is(1L));
+    }
+
+    @DisplayName("Should count rows fetched over JDBC per repository method")
+    @Test
+    @SneakyThrows
+    public void shouldCountFetchedRows() {
+        mvc.perform(get("/bookings/owner").param("state", "FUTURE").header(USER_ID, owner.getId()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/bookings/owner").param("state", "PAST").header(USER_ID, owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(registry.get(MethodMetricsAspect.REPOSITORY_ROWS)
+                .tags("class", "BookingRepository", "method", "findAllByOwnerIdAndStartAfter")
+                .summary().totalAmount(), is(1.0));
+        assertThat(registry.get(MethodMetricsAspect.REPOSITORY_ROWS)
+                .tags("class", "BookingRepository", "method", "findAllByOwnerIdAndEndBefore")
+                .summary().totalAmount(), is(0.0));
+    }
+
+    @DisplayName("Should tag failed service calls with the exception")
+    @Test
+    @SneakyThrows
+    public void shouldTagExceptions() {
+        mvc.perform(get("/bookings/owner").header(USER_ID, 999L))
+                .andExpect(status().isNotFound());
+
+        assertThat(registry.get(MethodMetricsAspect.METHOD_TIMER)
+                .tags("class", "BookingService", "method", "getAllBookingsOwner",
+                        "exception", "NotFoundException")
+                .timer().count(), is(1L));
+    }
+
+    @DisplayName("Should expose metrics in Prometheus format")
+    @Test
+    @SneakyThrows
+    public void shouldExposePrometheusEndpoint() {
+        mvc.perform(get("/bookings/owner").header(USER_ID, owner.getId()))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_request_statements_count")))
+                .andExpect(content().string(containsString("shareit_method_seconds_bucket")));
+    }
+}
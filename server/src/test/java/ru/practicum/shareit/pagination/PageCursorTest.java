@@ -0,0 +1,47 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PageCursorTest {
+    @DisplayName("Should encode and decode cursor")
+    @Test
+    public void shouldRoundTrip() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2020, 1, 1, 1, 1, 1, 123000), 42L);
+        PageCursor idOnly = PageCursor.of(7L);
+
+        assertThat(PageCursor.decode(cursor.encode()), is(equalTo(cursor)));
+        assertThat(PageCursor.decode(idOnly.encode()), is(equalTo(idOnly)));
+        assertThat(PageCursor.decode(""), is(nullValue()));
+    }
+
+    @DisplayName("Should reject malformed cursor")
+    @Test
+    public void shouldRejectInvalidCursor() {
+        String idOnly = PageCursor.of(7L).encode();
+
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(ValidationException.class, () -> PageCursor.decodePositioned(idOnly));
+    }
+
+    @DisplayName("Should return next cursor only when more rows exist")
+    @Test
+    public void shouldBuildPage() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L), 2, PageCursor::of, Function.identity());
+        CursorPage<Long> last = CursorPage.of(List.of(3L), 2, PageCursor::of, Function.identity());
+
+        assertThat(page.getContent(), contains(1L, 2L));
+        assertThat(PageCursor.decode(page.getNextCursor()), is(equalTo(PageCursor.of(2L))));
+        assertThat(last.getContent(), contains(3L));
+        assertThat(last.getNextCursor(), is(nullValue()));
+    }
+}
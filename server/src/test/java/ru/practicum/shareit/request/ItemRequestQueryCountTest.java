@@ -0,0 +1,95 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.SqlCaptureInspector;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:requests",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.SqlCaptureInspector"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemRequestQueryCountTest {
+    private static final int REQUESTS = 6;
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    private final ItemRequestService itemRequestService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final DataSource dataSource;
+    private UserDto requester;
+    private UserDto viewer;
+
+    @BeforeEach
+    public void setUp() {
+        requester = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        viewer = userService.createUser(new UserDto(null, "Amy", "amy@ya.ru"));
+        for (int i = 0; i < REQUESTS; i++) {
+            UserDto owner = userService.createUser(new UserDto(null, "Owner" + i, "owner" + i + "@ya.ru"));
+            ItemRequestDtoInfo request = itemRequestService
+                    .createItemRequest(new ItemRequestDto("need item " + i), requester.getId());
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                itemService.createItem(new ItemDto(null, "item" + j, "description" + j, true, request.getId()),
+                        owner.getId());
+            }
+        }
+        SqlCaptureInspector.drain();
+    }
+
+    @AfterEach
+    public void reinitDatabase() throws SQLException {
+        var connection = dataSource.getConnection();
+        var statement = connection.createStatement();
+
+        statement.execute("SET REFERENTIAL_INTEGRITY FALSE; " +
+                "TRUNCATE TABLE ITEMS; " +
+                "TRUNCATE TABLE REQUESTS; " +
+                "TRUNCATE TABLE USERS; " +
+                "SET REFERENTIAL_INTEGRITY TRUE;");
+        statement.close();
+        connection.close();
+    }
+
+    @DisplayName("Should load a page of requests with items in a constant number of statements")
+    @Test
+    public void shouldLoadRequestPageWithConstantStatements() {
+        List<ItemRequestDtoInfo> small = itemRequestService.getItemRequestsPageByPage(0, 2, viewer.getId());
+        int smallStatements = SqlCaptureInspector.drain().size();
+        List<ItemRequestDtoInfo> large = itemRequestService.getItemRequestsPageByPage(0, REQUESTS, viewer.getId());
+        int largeStatements = SqlCaptureInspector.drain().size();
+
+        assertThat(small, hasSize(2));
+        assertThat(large, hasSize(REQUESTS));
+        assertThat(large, everyItem(hasProperty("items", hasSize(ITEMS_PER_REQUEST))));
+        assertThat(largeStatements, is(equalTo(smallStatements)));
+        assertThat(largeStatements, is(lessThanOrEqualTo(3)));
+    }
+
+    @DisplayName("Should load own requests with items in a constant number of statements")
+    @Test
+    public void shouldLoadOwnRequestsWithConstantStatements() {
+        List<ItemRequestDtoInfo> requests = itemRequestService.getListOfRequestsForItemsUser(requester.getId());
+        List<String> statements = SqlCaptureInspector.drain();
+
+        assertThat(requests, hasSize(REQUESTS));
+        assertThat(requests, everyItem(hasProperty("items", hasSize(ITEMS_PER_REQUEST))));
+        assertThat(statements, hasSize(lessThanOrEqualTo(2)));
+    }
+}
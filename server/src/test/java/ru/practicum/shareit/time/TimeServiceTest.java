@@ -0,0 +1,59 @@
+package ru.practicum.shareit.time;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TimeServiceTest {
+    private static final Instant INSTANT = Instant.parse("2020-01-01T01:01:01.123456789Z");
+
+    @DisplayName("Should truncate now to the database precision")
+    @Test
+    public void shouldTruncateNowToMicros() {
+        TimeService timeService = new TimeService(Clock.fixed(INSTANT, ZoneOffset.UTC), Duration.ofSeconds(1));
+
+        assertThat(timeService.now(), is(equalTo(LocalDateTime.parse("2020-01-01T01:01:01.123456"))));
+    }
+
+    @DisplayName("Should share current time within a granularity window")
+    @Test
+    public void shouldBucketCurrent() {
+        MutableClock clock = new MutableClock(INSTANT, ZoneOffset.UTC);
+        TimeService timeService = new TimeService(clock, Duration.ofMinutes(1));
+
+        LocalDateTime first = timeService.current();
+        clock.advance(Duration.ofSeconds(58));
+        LocalDateTime second = timeService.current();
+        clock.advance(Duration.ofSeconds(1));
+        LocalDateTime third = timeService.current();
+
+        assertThat(first, is(equalTo(LocalDateTime.parse("2020-01-01T01:01:00"))));
+        assertThat(second, is(equalTo(first)));
+        assertThat(third, is(equalTo(LocalDateTime.parse("2020-01-01T01:02:00"))));
+    }
+
+    @DisplayName("Should use exact time when granularity is zero")
+    @Test
+    public void shouldNotBucketWithZeroGranularity() {
+        TimeService timeService = new TimeService(Clock.fixed(INSTANT, ZoneOffset.UTC), Duration.ZERO);
+
+        assertThat(timeService.current(), is(equalTo(timeService.now())));
+    }
+
+    @DisplayName("Should reject negative granularity")
+    @Test
+    public void shouldNotCreateWithNegativeGranularity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeService(Clock.systemUTC(), Duration.ofSeconds(-1)));
+    }
+}
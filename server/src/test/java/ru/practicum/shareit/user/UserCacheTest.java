@@ -0,0 +1,130 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:cache", "spring.cache.type=caffeine"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class UserCacheTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private Cache users;
+    private Cache userExists;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        users = cacheManager.getCache(CacheConfig.USERS);
+        userExists = cacheManager.getCache(CacheConfig.USER_EXISTS);
+        users.clear();
+        userExists.clear();
+    }
+
+    @DisplayName("Should cache user lookups and evict them on update and delete")
+    @Test
+    public void shouldCacheAndEvictUser() {
+        UserDto userDto = userService.createUser(new UserDto(null, "John", "john@ya.ru"));
+        Long id = userDto.getId();
+
+        UserDto first = userService.getUserById(id);
+        UserDto second = userService.getUserById(id);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(hits(), is(greaterThanOrEqualTo(1.0)));
+
+        userService.updateUser(id, new UserDto(null, "John Doe", null));
+        assertThat(users.get(id), is(nullValue()));
+        assertThat(userService.getUserById(id).getName(), is(equalTo("John Doe")));
+
+        userService.checkExists(id);
+        assertThat(userExists.get(id), is(notNullValue()));
+
+        userService.deleteUserById(id);
+        assertThat(users.get(id), is(nullValue()));
+        assertThat(userExists.get(id), is(nullValue()));
+        assertThrows(NotFoundException.class, () -> userService.checkExists(id));
+    }
+
+    @DisplayName("Should not cache missing users")
+    @Test
+    public void shouldNotCacheMissingUser() {
+        assertThrows(NotFoundException.class, () -> userService.checkExists(999L));
+        assertThrows(NotFoundException.class, () -> userService.getUserById(999L));
+        assertThrows(NotFoundException.class, () -> userService.findById(999L));
+
+        assertThat(userExists.get(999L), is(nullValue()));
+        assertThat(users.get(999L), is(nullValue()));
+    }
+
+    @DisplayName("Should cache user data rather than managed entities")
+    @Test
+    public void shouldNotCacheEntities() {
+        Long id = userService.createUser(new UserDto(null, "John", "john@ya.ru")).getId();
+
+        User reference = userService.findById(id);
+        userService.getUserById(id);
+
+        assertThat(reference.getId(), is(equalTo(id)));
+        assertThat(users.get(id).get(), is(instanceOf(UserDto.class)));
+        assertThat(userExists.get(id).get(), is(equalTo(true)));
+    }
+
+    @DisplayName("Should evict cached users only when the updating transaction commits")
+    @Test
+    public void shouldEvictOnCommit() {
+        Long id = userService.createUser(new UserDto(null, "John", "john@ya.ru")).getId();
+        userService.getUserById(id);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(id, new UserDto(null, "John Doe", null));
+            assertThat(users.get(id), is(notNullValue()));
+        });
+        assertThat(users.get(id), is(nullValue()));
+        assertThat(userService.getUserById(id).getName(), is(equalTo("John Doe")));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(id, new UserDto(null, "Rolled back", null));
+            status.setRollbackOnly();
+        });
+        assertThat(users.get(id), is(notNullValue()));
+        assertThat(userService.getUserById(id).getName(), is(equalTo("John Doe")));
+
+        userService.checkExists(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUserById(id);
+            assertThat(userExists.get(id), is(notNullValue()));
+        });
+        assertThat(users.get(id), is(nullValue()));
+        assertThat(userExists.get(id), is(nullValue()));
+        assertThrows(NotFoundException.class, () -> userService.getUserById(id));
+        assertThrows(NotFoundException.class, () -> userService.findById(id));
+    }
+
+    private double hits() {
+        FunctionCounter counter = meterRegistry.find("cache.gets")
+                .tag("cache", CacheConfig.USERS)
+                .tag("result", "hit")
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
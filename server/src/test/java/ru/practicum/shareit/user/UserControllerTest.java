@@ -10,6 +10,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -20,6 +22,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -79,6 +82,22 @@ public class UserControllerTest {
         verify(userService).getAllUsers(anyInt(), anyInt());
     }
 
+    @DisplayName("Should return users page by cursor with next cursor header")
+    @Test
+    @SneakyThrows
+    public void shouldGetAllUserByCursor() {
+        String next = PageCursor.of(2L).encode();
+        when(userService.getAllUsersByCursor(anyString(), anyInt())).thenReturn(new CursorPage<>(userDtoList, next));
+
+        mvc.perform(get("/users?cursor=&size=2"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id").value(userDtoList.get(1).getId()))
+                .andExpect(header().string(PageCursor.HEADER, next))
+                .andExpect(status().isOk());
+
+        verify(userService).getAllUsersByCursor("", 2);
+    }
+
     @DisplayName("Should create user")
     @Test
     @SneakyThrows
@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
@@ -75,6 +76,20 @@ public class UserServiceTest {
         assertThat(allUsersResult, hasSize(2));
     }
 
+    @DisplayName("Should return users page by cursor")
+    @Test
+    public void shouldGetAllUsersByCursor() {
+        UserDto userDtoCreatedOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoCreatedTwo = userService.createUser(userDtoTwoCreate);
+
+        CursorPage<UserDto> first = userService.getAllUsersByCursor("", 1);
+        CursorPage<UserDto> second = userService.getAllUsersByCursor(first.getNextCursor(), 1);
+
+        assertThat(first.getContent(), contains(userDtoCreatedOne));
+        assertThat(second.getContent(), contains(userDtoCreatedTwo));
+        assertThat(second.getNextCursor(), is(nullValue()));
+    }
+
     @DisplayName("Should create user")
     @Test
     public void shouldCreateUser() {